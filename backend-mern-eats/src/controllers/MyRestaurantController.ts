@@ -77,6 +77,10 @@ const updateMyRestaurant = async (req: Request, res: Response) => {
 };
 
 const uploadImage = async (file: Express.Multer.File) => {
+  // Local and scale-test environments can skip Cloudinary and use a fixed image
+  if (process.env.IMAGE_PLACEHOLDER_URL) {
+    return process.env.IMAGE_PLACEHOLDER_URL;
+  }
   const image = file;
   const base64Image = Buffer.from(image.buffer).toString("base64");
   const dataURI = `data:${image.mimetype};base64,${base64Image}`;
@@ -1,5 +1,6 @@
 import { Response, Request } from "express";
 import User from "../models/user";
+import Restaurant from "../models/restaurant";
 
 const getCurrentUser = async (req: Request, res: Response) => {
   try {
@@ -56,8 +57,21 @@ const updateCurrentUser = async (req: Request, res: Response) => {
   }
 };
 
+const deleteCurrentUser = async (req: Request, res: Response) => {
+  try {
+    await Restaurant.deleteMany({ user: req.userId });
+    await User.deleteOne({ _id: req.userId });
+    res.clearCookie("authCookie");
+    return res.status(204).send();
+  } catch (error) {
+    console.log(error);
+    return res.status(500).json({ message: "Error deleting user" });
+  }
+};
+
 export default {
   getCurrentUser,
   createCurrentUser,
   updateCurrentUser,
+  deleteCurrentUser,
 };
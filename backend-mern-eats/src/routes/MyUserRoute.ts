@@ -14,5 +14,9 @@ router.put(
   validateMyUserRequest,
   MyUserController.updateCurrentUser
 );
+// Account deletion only exists for tearing down seeded test data; it is never exposed in production
+if (process.env.ENABLE_TEST_TEARDOWN) {
+  router.delete("/", verifyToken, MyUserController.deleteCurrentUser);
+}
 
 export default router;
@@ -15,7 +15,10 @@ export default function RestaurantInfo({ restaurant }: Props) {
   return (
     <Card>
       <CardHeader>
-        <CardTitle className="text-3xl font-bold tracking-tight">
+        <CardTitle
+          data-testid="restaurant-name"
+          className="text-3xl font-bold tracking-tight"
+        >
           {restaurant.restaurantName}
         </CardTitle>
         <CardDescription>
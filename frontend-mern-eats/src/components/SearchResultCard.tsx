@@ -11,6 +11,7 @@ export default function SearchResultCard({ restaurant }: Props) {
   return (
     <Link
       to={`/detail/${restaurant._id}`}
+      data-testid="search-result-card"
       className="grid lg:grid-cols-[2fr_3fr] gap-5 group"
     >
       <AspectRatio ratio={16 / 6}>
@@ -7,7 +7,10 @@ type Props = {
 
 export default function SearchResultInfo({ total, city }: Props) {
   return (
-    <div className="text-xl font-bold flex flex-col gap-3 justify-between lg:items-center lg:flex-row">
+    <div
+      data-testid="search-result-info"
+      className="text-xl font-bold flex flex-col gap-3 justify-between lg:items-center lg:flex-row"
+    >
       <span>
         {total} Restaurants found in {city}
         <Link
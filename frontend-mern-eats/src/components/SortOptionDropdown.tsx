@@ -32,7 +32,7 @@ export default function SortOptionDropdown({ onChange, sortOption }: Props) {
   );
   return (
     <DropdownMenu>
-      <DropdownMenuTrigger className="cursor-pointer">
+      <DropdownMenuTrigger data-testid="sort-dropdown" className="cursor-pointer">
         <Button variant="outline" className="w-full">
           Sort by: {selectedSortOption?.label || "Best Match"}
         </Button>
@@ -40,6 +40,7 @@ export default function SortOptionDropdown({ onChange, sortOption }: Props) {
       <DropdownMenuContent>
         {SORT_OPTIONS.map((option) => (
           <DropdownMenuItem
+            data-testid={`sort-option-${option.value}`}
             className="cursor-pointer"
             onClick={() => onChange(option.value)}
           >
@@ -15,7 +15,10 @@ export default function UsernameMenu() {
 
   return (
     <DropdownMenu>
-      <DropdownMenuTrigger className="flex items-center px-3 font-bold hover:text-orange-500 gap-2">
+      <DropdownMenuTrigger
+        data-testid="user-menu"
+        className="flex items-center px-3 font-bold hover:text-orange-500 gap-2"
+      >
         <CircleUserRound className="text-orange-500" />
         {user?.email}
       </DropdownMenuTrigger>
@@ -23,13 +26,18 @@ export default function UsernameMenu() {
         <DropdownMenuItem>
           <Link
             to="/manage-restaurant"
+            data-testid="manage-restaurant-link"
             className="font-bold hover:text-orange-500"
           >
             Manage Restaurant
           </Link>
         </DropdownMenuItem>
         <DropdownMenuItem>
-          <Link to="/user-profile" className="font-bold hover:text-orange-500">
+          <Link
+            to="/user-profile"
+            data-testid="user-profile-link"
+            className="font-bold hover:text-orange-500"
+          >
             User Profile
           </Link>
         </DropdownMenuItem>
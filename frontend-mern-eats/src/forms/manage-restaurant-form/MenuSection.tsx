@@ -31,7 +31,11 @@ export default function MenuSection() {
           </FormItem>
         )}
       />
-      <Button type="button" onClick={() => append({ name: "", price: "" })}>
+      <Button
+        type="button"
+        data-testid="add-menu-item"
+        onClick={() => append({ name: "", price: "" })}
+      >
         Add Menu Item
       </Button>
     </div>
@@ -66,7 +66,7 @@ export default function SearchPage() {
   };
 
   if (!results?.data || !city) {
-    return <span>No results found</span>;
+    return <span data-testid="no-results">No results found</span>;
   }
 
   if (isLoading) {
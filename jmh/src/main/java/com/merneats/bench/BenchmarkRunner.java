@@ -0,0 +1,97 @@
+package com.merneats.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.BuildInfo;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks and writes target/jmh/driver-manager_selenium-X_chrome-Y.json: the JMH JSON results
+ * alongside the Selenium, Chrome, chromedriver and JVM versions they were measured with, so runs before and
+ * after an upgrade can be diffed directly. Accepts the usual JMH command line options.
+ */
+public class BenchmarkRunner {
+    private static final File OUTPUT_DIR = new File("target/jmh");
+    private static final File RAW_RESULTS = new File(OUTPUT_DIR, "jmh-results.json");
+    private static final File ENVIRONMENT = new File(OUTPUT_DIR, "environment.json");
+    
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+        OUTPUT_DIR.mkdirs();
+        Files.deleteIfExists(ENVIRONMENT.toPath());
+        Files.deleteIfExists(RAW_RESULTS.toPath());
+        
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RAW_RESULTS.getPath());
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(DriverManagerBenchmark.class.getSimpleName());
+        }
+        new Runner(options.build()).run();
+        List<Object> results = RAW_RESULTS.exists()
+                ? new Json().toType(Files.readString(RAW_RESULTS.toPath(), StandardCharsets.UTF_8), List.class)
+                : List.of();
+        if (results.isEmpty()) {
+            // Every benchmark failed to start, e.g. no browser
+            System.err.println("No benchmark results to write");
+            System.exit(1);
+        }
+        
+        Map<String, Object> environment = ENVIRONMENT.exists()
+                ? new Json().toType(Files.readString(ENVIRONMENT.toPath(), StandardCharsets.UTF_8), Json.MAP_TYPE)
+                : environment(null);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("environment", environment);
+        report.put("benchmarks", results);
+        
+        File reportFile = new File(OUTPUT_DIR, "driver-manager_selenium-" + environment.get("selenium")
+                + "_chrome-" + environment.get("chrome") + ".json");
+        Files.writeString(reportFile.toPath(), new Json().toJson(report), StandardCharsets.UTF_8);
+        System.out.println("Benchmark results written to " + reportFile.getPath());
+    }
+    
+    /**
+     * Called from the forked benchmark JVM once its browser is up, since only it knows the browser versions
+     */
+    static void writeEnvironment(Capabilities capabilities) throws IOException {
+        OUTPUT_DIR.mkdirs();
+        Files.writeString(ENVIRONMENT.toPath(), new Json().toJson(environment(capabilities)), StandardCharsets.UTF_8);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> environment(Capabilities capabilities) {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("selenium", new BuildInfo().getReleaseLabel());
+        environment.put("chrome", capabilities != null ? capabilities.getBrowserVersion() : "unknown");
+        Object chrome = capabilities != null ? capabilities.getCapability("chrome") : null;
+        Object chromedriver = chrome instanceof Map ? ((Map<String, Object>) chrome).get("chromedriverVersion") : null;
+        // "131.0.6778.85 (a3d0...-refs/branch-heads/6778@{#3})" -> "131.0.6778.85"
+        environment.put("chromedriver", chromedriver != null ? chromedriver.toString().split(" ")[0] : "unknown");
+        environment.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        return environment;
+    }
+}
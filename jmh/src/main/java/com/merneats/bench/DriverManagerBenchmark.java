@@ -0,0 +1,143 @@
+package com.merneats.bench;
+
+import com.merneats.utils.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the DriverManager primitives the page objects are built on, each against the same static page.
+ * Paired benchmarks answer the questions that keep coming up in review: CSS vs XPath, JS vs native clicks,
+ * and screenshots as a file vs as bytes. Sample mode keeps the percentiles, not just the mean.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DriverManagerBenchmark {
+    private static final By CARD_NAME_CSS = By.cssSelector("[data-testid='restaurant-card-250'] .name");
+    private static final By CARD_NAME_XPATH = By.xpath("//a[@data-testid='restaurant-card-250']//span[@class='name']");
+    private static final By COUNTER = By.id("counter");
+    private static final By MISSING = By.cssSelector("[data-testid='no-such-element']");
+    
+    private WebDriver driver;
+    private WebElement counter;
+    private WebElement brand;
+    private WebElement footer;
+    private boolean scrollDown;
+    private Path fixture;
+    
+    @Setup(Level.Trial)
+    public void openFixture() throws IOException {
+        fixture = Files.createTempFile("merneats-fixture", ".html");
+        try (InputStream in = DriverManagerBenchmark.class.getResourceAsStream("/fixture.html")) {
+            Files.copy(in, fixture, StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        driver = DriverManager.getDriver();
+        driver.get(fixture.toUri().toString());
+        DriverManager.waitForPageLoad();
+        counter = driver.findElement(COUNTER);
+        brand = driver.findElement(By.id("brand"));
+        footer = driver.findElement(By.id("footer"));
+        BenchmarkRunner.writeEnvironment(((HasCapabilities) driver).getCapabilities());
+    }
+    
+    @TearDown(Level.Trial)
+    public void closeFixture() throws IOException {
+        DriverManager.releaseDriver();
+        DriverManager.shutdownPool();
+        Files.deleteIfExists(fixture);
+    }
+    
+    @Benchmark
+    public WebElement waitForElementCss() {
+        return DriverManager.waitForElement(CARD_NAME_CSS);
+    }
+    
+    @Benchmark
+    public WebElement waitForElementXpath() {
+        return DriverManager.waitForElement(CARD_NAME_XPATH);
+    }
+    
+    @Benchmark
+    public WebElement waitForClickable() {
+        return DriverManager.waitForClickable(COUNTER);
+    }
+    
+    @Benchmark
+    public boolean isElementPresentHit() {
+        return DriverManager.isElementPresent(CARD_NAME_CSS);
+    }
+    
+    @Benchmark
+    public boolean isElementPresentMiss() {
+        return DriverManager.isElementPresent(MISSING);
+    }
+    
+    @Benchmark
+    public void clickNative() {
+        counter.click();
+    }
+    
+    @Benchmark
+    public void clickWithJS() {
+        DriverManager.clickWithJS(counter);
+    }
+    
+    /**
+     * Alternates between the top and bottom of the page so every call really scrolls
+     */
+    @Benchmark
+    public void scrollToElement() {
+        scrollDown = !scrollDown;
+        DriverManager.scrollToElement(scrollDown ? footer : brand);
+    }
+    
+    @Benchmark
+    public Object executeScriptRoundTrip() {
+        return ((JavascriptExecutor) driver).executeScript("return 1;");
+    }
+    
+    @Benchmark
+    public byte[] screenshotBytes() {
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    }
+    
+    /**
+     * Includes deleting the temp file Selenium writes, which a caller would otherwise leave behind
+     */
+    @Benchmark
+    public long screenshotFile() {
+        File file = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
+        long length = file.length();
+        file.delete();
+        return length;
+    }
+}
@@ -0,0 +1,234 @@
+package com.merneats.load;
+
+import com.merneats.utils.TestUser;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds tens of thousands of synthetic restaurants through the public API, one owner account per restaurant,
+ * and tears them down again. Both directions are idempotent: existing users and restaurants are kept on seed,
+ * and accounts that no longer exist are skipped on teardown.
+ * <p>
+ * Usage: DataSeeder seed | teardown. Start the backend with IMAGE_PLACEHOLDER_URL set so uploads skip Cloudinary,
+ * and with ENABLE_TEST_TEARDOWN set for teardown, which otherwise has no delete endpoint to call.
+ */
+public class DataSeeder {
+    // 1x1 transparent PNG; the backend ignores it when IMAGE_PLACEHOLDER_URL is set
+    private static final byte[] PLACEHOLDER_IMAGE = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+    private static final String AUTH_COOKIE = "authCookie";
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final LoadSettings settings;
+    private final SeedDataGenerator generator;
+    private final HttpClient client;
+    private final Map<String, LongAdder> outcomes = new ConcurrentSkipListMap<>();
+    
+    public DataSeeder(LoadSettings settings) {
+        this.settings = settings;
+        this.generator = new SeedDataGenerator(settings.getSeedValue(), settings.getJourneyUserDomain(),
+                settings.getJourneyUserPassword());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .build();
+    }
+    
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "seed";
+        LoadSettings settings = new LoadSettings();
+        DataSeeder seeder = new DataSeeder(settings);
+        
+        System.out.println("========================================");
+        System.out.println((mode.equals("teardown") ? "Tearing down " : "Seeding ") + settings.getSeedRestaurants()
+                + " restaurants (seed " + settings.getSeedValue() + ") at " + settings.getApiUrl());
+        System.out.println("========================================");
+        
+        if (mode.equals("teardown")) {
+            seeder.runAll(seeder::teardownOne);
+        } else if (mode.equals("seed")) {
+            seeder.runAll(seeder::seedOne);
+        } else {
+            throw new IllegalArgumentException("Unknown mode " + mode + ", expected seed or teardown");
+        }
+        seeder.outcomes.forEach((outcome, count) -> System.out.println(String.format("  %-30s %d", outcome, count.sum())));
+        if (seeder.outcomes.keySet().stream().anyMatch(outcome -> outcome.startsWith("failed"))) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Processes every index in batches; within a batch up to seed.concurrency requests run on virtual threads
+     */
+    void runAll(IntFunction<String> task) {
+        int total = settings.getSeedRestaurants();
+        int batchSize = settings.getSeedBatchSize();
+        Semaphore permits = new Semaphore(settings.getSeedConcurrency());
+        long start = System.currentTimeMillis();
+        
+        for (int from = 0; from < total; from += batchSize) {
+            int to = Math.min(total, from + batchSize);
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = from; i < to; i++) {
+                    int index = i;
+                    workers.execute(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            count(task.apply(index));
+                        } catch (RuntimeException e) {
+                            count("failed: " + e.getMessage());
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
+            System.out.println(String.format("%d/%d done (%.0fs)", to, total, (System.currentTimeMillis() - start) / 1000.0));
+        }
+    }
+    
+    String seedOne(int index) {
+        TestUser owner = generator.owner(index);
+        HttpResponse<String> registered = send(json("POST", "/api/auth/register", null, Map.of(
+                "email", owner.getEmail(),
+                "password", owner.getPassword(),
+                "name", owner.getName())));
+        boolean exists = registered.statusCode() == 400 && registered.body().contains("User already exists");
+        if (registered.statusCode() != 201 && !exists) {
+            return "failed: register " + registered.statusCode();
+        }
+        
+        String cookie = login(owner);
+        if (cookie == null) {
+            return "failed: login";
+        }
+        
+        Map<String, String> restaurant = generator.restaurant(index);
+        HttpResponse<String> profile = send(json("PUT", "/api/my/user", cookie,
+                generator.ownerProfile(index, restaurant.get("city"))));
+        if (profile.statusCode() != 200) {
+            return "failed: profile " + profile.statusCode();
+        }
+        
+        HttpResponse<String> created = send(multipart("/api/my/restaurant", cookie, restaurant));
+        if (created.statusCode() == 409) {
+            return "restaurant already existed";
+        }
+        return created.statusCode() == 201 ? "restaurant created" : "failed: restaurant " + created.statusCode();
+    }
+    
+    String teardownOne(int index) {
+        String cookie = login(generator.owner(index));
+        if (cookie == null) {
+            return "already removed";
+        }
+        HttpResponse<String> deleted = send(HttpRequest.newBuilder(uri("/api/my/user"))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .header("Cookie", cookie)
+                .DELETE()
+                .build());
+        if (deleted.statusCode() == 404) {
+            return "failed: delete endpoint disabled (start the backend with ENABLE_TEST_TEARDOWN set)";
+        }
+        return deleted.statusCode() == 204 ? "removed" : "failed: delete " + deleted.statusCode();
+    }
+    
+    /**
+     * Logs in and returns the Cookie header value, or null when the credentials are not (or no longer) valid
+     */
+    private String login(TestUser user) {
+        HttpResponse<String> response = send(json("POST", "/api/auth/login", null, Map.of(
+                "email", user.getEmail(),
+                "password", user.getPassword())));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        for (String header : response.headers().allValues("set-cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(header)) {
+                if (AUTH_COOKIE.equals(cookie.getName())) {
+                    return AUTH_COOKIE + "=" + cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+    
+    private HttpRequest json(String method, String path, String cookie, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(new Json().toJson(body)));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+    
+    private HttpRequest multipart(String path, String cookie, Map<String, String> fields) {
+        String boundary = "----merneats-seed-" + Long.toHexString(System.nanoTime());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n"
+                    + field.getValue() + "\r\n");
+        }
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"imageFile\"; filename=\"seed.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n");
+        body.writeBytes(PLACEHOLDER_IMAGE);
+        write(body, "\r\n--" + boundary + "--\r\n");
+        
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("Cookie", cookie)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+    
+    /**
+     * Sends with a few retries: every seeder call is safe to repeat, and long runs see the odd dropped keep-alive connection
+     */
+    private HttpResponse<String> send(HttpRequest request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new RuntimeException(request.method() + " " + request.uri().getPath() + " "
+                            + e.getClass().getSimpleName(), e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted", e);
+            }
+        }
+    }
+    
+    private URI uri(String path) {
+        return URI.create(settings.getApiUrl() + path);
+    }
+    
+    private void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+    
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,204 @@
+package com.merneats.load;
+
+import com.merneats.journeys.Journey;
+import com.merneats.journeys.JourneyStep;
+import com.merneats.journeys.StepResult;
+import com.merneats.utils.TestUser;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Replays journeys for one virtual user at the HTTP level, issuing the same API calls the frontend makes.
+ * The HttpClient is shared between users, so each runner keeps its own cookie jar and adds the Cookie header itself.
+ */
+public class HttpJourneyRunner {
+    private final HttpClient client;
+    private final String apiUrl;
+    private final TestUser user;
+    private final RandomGenerator random;
+    private final double thinkTimeScale;
+    private final Duration timeout;
+    
+    private CookieManager cookies = new CookieManager();
+    private String city;
+    private final Set<String> cuisines = new LinkedHashSet<>();
+    private String sortOption = "bestMatch";
+    private int page = 1;
+    private int pages = 1;
+    private List<String> resultIds = List.of();
+    
+    public HttpJourneyRunner(HttpClient client, LoadSettings settings, TestUser user, RandomGenerator random) {
+        this.client = client;
+        this.apiUrl = settings.getApiUrl();
+        this.user = user;
+        this.random = random;
+        this.thinkTimeScale = settings.getThinkTimeScale();
+        this.timeout = Duration.ofMillis(settings.getRequestTimeoutMillis());
+    }
+    
+    /**
+     * Runs the journey as a fresh session, pausing for each step's think time first.
+     * Stops at the first failed step; the returned list ends with that failure.
+     */
+    public List<StepResult> run(Journey journey) throws InterruptedException {
+        cookies = new CookieManager();
+        city = null;
+        cuisines.clear();
+        sortOption = "bestMatch";
+        page = 1;
+        pages = 1;
+        resultIds = List.of();
+        
+        List<StepResult> results = new ArrayList<>();
+        for (JourneyStep step : journey.getSteps()) {
+            long think = Math.round(step.getThinkTime().sampleMillis(random) * thinkTimeScale);
+            if (think > 0) {
+                Thread.sleep(think);
+            }
+            
+            long start = System.nanoTime();
+            StepResult result;
+            try {
+                String skipped = perform(step);
+                result = new StepResult(step, skipped == null ? StepResult.Status.OK : StepResult.Status.SKIPPED,
+                        System.nanoTime() - start, skipped);
+            } catch (IOException | RuntimeException e) {
+                result = new StepResult(step, StepResult.Status.FAILED, System.nanoTime() - start,
+                        e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            }
+            results.add(result);
+            if (result.getStatus() == StepResult.Status.FAILED) {
+                break;
+            }
+        }
+        return results;
+    }
+    
+    private String perform(JourneyStep step) throws IOException, InterruptedException {
+        switch (step.getType()) {
+            case LOGIN:
+                expect(send("POST", "/api/auth/login", Map.of("email", user.getEmail(), "password", user.getPassword())), 200);
+                return null;
+            case SEARCH:
+                city = step.arg(0);
+                cuisines.clear();
+                page = 1;
+                return search();
+            case TOGGLE_CUISINE:
+                if (city == null) {
+                    return "no search open";
+                }
+                if (!cuisines.remove(step.arg(0))) {
+                    cuisines.add(step.arg(0));
+                }
+                page = 1;
+                return search();
+            case SORT:
+                if (city == null) {
+                    return "no search open";
+                }
+                sortOption = step.arg(0);
+                page = 1;
+                return search();
+            case NEXT_PAGE:
+                if (city == null || page >= pages) {
+                    return "no next page";
+                }
+                page++;
+                return search();
+            case OPEN_DETAIL:
+                if (resultIds.isEmpty()) {
+                    return "no results";
+                }
+                expect(send("GET", "/api/restaurant/" + resultIds.get(0), null), 200);
+                city = null;
+                return null;
+            case UPDATE_PROFILE:
+                // The profile page loads the user before the form can be saved
+                expect(send("GET", "/api/my/user", null), 200);
+                expect(send("PUT", "/api/my/user", Map.of(
+                        "name", step.arg(0),
+                        "addressLine1", step.arg(1),
+                        "city", step.arg(2),
+                        "country", step.arg(3))), 200);
+                return null;
+            default:
+                throw new IllegalStateException("Unknown journey step " + step.getType());
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private String search() throws IOException, InterruptedException {
+        String query = "?searchQuery=&page=" + page
+                + "&selectedCuisines=" + encode(String.join(",", cuisines))
+                + "&sortOption=" + encode(sortOption);
+        HttpResponse<String> response = send("GET", "/api/restaurant/search/" + encode(city) + query, null);
+        if (response.statusCode() == 404) {
+            resultIds = List.of();
+            pages = 1;
+            return null;
+        }
+        expect(response, 200);
+        
+        Map<String, Object> body = new Json().toType(response.body(), Json.MAP_TYPE);
+        List<String> ids = new ArrayList<>();
+        for (Object restaurant : (List<Object>) body.getOrDefault("data", List.of())) {
+            ids.add(String.valueOf(((Map<String, Object>) restaurant).get("_id")));
+        }
+        resultIds = ids;
+        Object pagination = body.get("pagination");
+        pages = pagination instanceof Map
+                ? ((Number) ((Map<String, Object>) pagination).getOrDefault("pages", 1)).intValue()
+                : 1;
+        return null;
+    }
+    
+    private HttpResponse<String> send(String method, String path, Map<String, Object> json)
+            throws IOException, InterruptedException {
+        URI uri = URI.create(apiUrl + path);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .method(method, json == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(new Json().toJson(json)));
+        if (json != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        for (Map.Entry<String, List<String>> header : cookies.get(uri, Map.of()).entrySet()) {
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        cookies.put(uri, response.headers().map());
+        return response;
+    }
+    
+    private static void expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new RuntimeException(response.request().method() + " " + response.uri().getPath()
+                    + " returned " + response.statusCode());
+        }
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
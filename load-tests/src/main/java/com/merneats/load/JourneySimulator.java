@@ -0,0 +1,207 @@
+package com.merneats.load;
+
+import com.merneats.journeys.Journey;
+import com.merneats.journeys.JourneyMix;
+import com.merneats.journeys.JourneyStep;
+import com.merneats.journeys.Journeys;
+import com.merneats.journeys.StepResult;
+import com.merneats.utils.TestUser;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs N virtual users, each on its own virtual thread, repeatedly picking a journey from a weighted mix
+ * and replaying it over HTTP with think times. Users are started evenly over the ramp-up period.
+ */
+public class JourneySimulator {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final LoadSettings settings;
+    private final JourneyMix mix;
+    private final List<TestUser> accounts;
+    
+    public JourneySimulator(LoadSettings settings, JourneyMix mix, List<TestUser> accounts) {
+        this.settings = settings;
+        this.mix = mix;
+        this.accounts = accounts;
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        LoadSettings settings = new LoadSettings();
+        JourneyMix mix = Journeys.defaultMix(settings.getJourneyCity());
+        System.out.println("========================================");
+        System.out.println("Journey simulation against " + settings.getApiUrl());
+        System.out.println("Virtual users: " + settings.getJourneyUsers() + " (ramp-up " + settings.getJourneyRampUpSeconds()
+                + "s, run " + settings.getJourneyDurationSeconds() + "s)");
+        System.out.println("========================================");
+        
+        List<TestUser> accounts = provisionAccounts(settings);
+        JourneyStats stats = new JourneySimulator(settings, mix, accounts).run();
+        writeReport(stats, mix);
+        
+        long total = stats.getCompleted() + stats.getFailed();
+        if (total > 0 && (double) stats.getFailed() / total > settings.getMaxErrorRate()) {
+            System.err.println("Journey failure rate is above the allowed " + settings.getMaxErrorRate() * 100 + "%");
+            System.exit(1);
+        }
+    }
+    
+    public JourneyStats run() throws InterruptedException {
+        JourneyStats stats = new JourneyStats();
+        int users = settings.getJourneyUsers();
+        long rampNanos = TimeUnit.SECONDS.toNanos(settings.getJourneyRampUpSeconds());
+        long start = System.nanoTime();
+        long end = start + rampNanos + TimeUnit.SECONDS.toNanos(settings.getJourneyDurationSeconds());
+        
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(workers)
+                .connectTimeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .build();
+        
+        for (int i = 0; i < users; i++) {
+            int userIndex = i;
+            long startAt = start + rampNanos * i / users;
+            workers.execute(() -> {
+                SplittableRandom random = new SplittableRandom(settings.getSeed() + userIndex);
+                HttpJourneyRunner runner = new HttpJourneyRunner(client, settings,
+                        accounts.get(userIndex % accounts.size()), random);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(startAt - System.nanoTime());
+                    while (System.nanoTime() < end) {
+                        Journey journey = mix.pick(random);
+                        long journeyStart = System.nanoTime();
+                        List<StepResult> results = runner.run(journey);
+                        long finished = System.nanoTime();
+                        if (finished < end) {
+                            stats.record(journey, results, finished - journeyStart);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // Run is over; the unfinished journey is not counted
+                }
+            });
+        }
+        
+        TimeUnit.NANOSECONDS.sleep(end - System.nanoTime());
+        System.out.println("Run complete, stopping virtual users...");
+        workers.shutdownNow();
+        workers.awaitTermination(settings.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS);
+        client.shutdownNow();
+        return stats;
+    }
+    
+    /**
+     * Registers the shared journey accounts; an account left over from an earlier run is reused as is
+     */
+    static List<TestUser> provisionAccounts(LoadSettings settings) {
+        HttpClient client = HttpClient.newHttpClient();
+        List<TestUser> accounts = new ArrayList<>();
+        for (int i = 0; i < settings.getJourneyAccounts(); i++) {
+            TestUser user = new TestUser("journey-u" + i + "@" + settings.getJourneyUserDomain(),
+                    settings.getJourneyUserPassword(), "Journey User " + i);
+            String body = new Json().toJson(Map.of(
+                    "email", user.getEmail(),
+                    "password", user.getPassword(),
+                    "name", user.getName()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(settings.getApiUrl() + "/api/auth/register"))
+                    .timeout(Duration.ofSeconds(15))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                boolean exists = response.statusCode() == 400 && response.body().contains("User already exists");
+                if (response.statusCode() != 201 && !exists) {
+                    throw new RuntimeException("Registering " + user.getEmail() + " failed with status "
+                            + response.statusCode() + ": " + response.body());
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to register journey user: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while registering journey users", e);
+            }
+            accounts.add(user);
+        }
+        return accounts;
+    }
+    
+    /**
+     * Prints per-journey completion and per-step latency, and writes target/load/journeys.txt and journeys.json
+     */
+    static void writeReport(JourneyStats stats, JourneyMix mix) {
+        StringBuilder table = new StringBuilder();
+        Map<String, Object> json = new LinkedHashMap<>();
+        table.append(String.format("%-44s %8s %6s %6s %9s %9s %9s %9s%n",
+                "Journey / step (ms)", "ok", "skip", "fail", "p50", "p90", "p99", "p99.9"));
+        
+        for (Journey journey : mix.getJourneys()) {
+            JourneyStats.JourneyEntry entry = stats.getJourneys().get(journey.getName());
+            if (entry == null) {
+                continue;
+            }
+            appendRow(table, journey.getName() + " (completion)", entry.completion, 0, entry.failed.sum());
+            
+            Map<String, Object> steps = new LinkedHashMap<>();
+            Set<String> stepNames = new LinkedHashSet<>();
+            journey.getSteps().stream().map(JourneyStep::getName).forEach(stepNames::add);
+            for (String stepName : stepNames) {
+                JourneyStats.StepEntry step = entry.steps.get(stepName);
+                if (step != null) {
+                    appendRow(table, "  " + stepName, step.latency, step.skipped.sum(), step.failed.sum());
+                    Map<String, Object> stepJson = SearchLoadGenerator.toMap(step.latency);
+                    stepJson.put("skipped", step.skipped.sum());
+                    stepJson.put("failed", step.failed.sum());
+                    steps.put(stepName, stepJson);
+                }
+            }
+            entry.failures.forEach((reason, count) -> table.append(String.format("    ! %-40s %d%n", reason, count.sum())));
+            
+            Map<String, Object> journeyJson = new LinkedHashMap<>();
+            journeyJson.put("completion", SearchLoadGenerator.toMap(entry.completion));
+            journeyJson.put("failed", entry.failed.sum());
+            journeyJson.put("steps", steps);
+            json.put(journey.getName(), journeyJson);
+        }
+        table.append(String.format("%nJourneys completed: %d  failed: %d%n", stats.getCompleted(), stats.getFailed()));
+        System.out.print(table);
+        
+        File dir = new File("target/load");
+        dir.mkdirs();
+        try (PrintWriter out = new PrintWriter(new File(dir, "journeys.txt"), StandardCharsets.UTF_8)) {
+            out.print(table);
+            Files.writeString(new File(dir, "journeys.json").toPath(), new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write journey report: " + e.getMessage());
+        }
+    }
+    
+    private static void appendRow(StringBuilder table, String label, LatencyHistogram histogram, long skipped, long failed) {
+        table.append(String.format("%-44s %8d %6d %6d", label, histogram.getCount(), skipped, failed));
+        for (double percentile : PERCENTILES) {
+            table.append(String.format(" %9.1f", histogram.percentileMicros(percentile) / 1000.0));
+        }
+        table.append(System.lineSeparator());
+    }
+}
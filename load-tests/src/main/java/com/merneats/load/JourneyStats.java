@@ -0,0 +1,73 @@
+package com.merneats.load;
+
+import com.merneats.journeys.Journey;
+import com.merneats.journeys.StepResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-step latency and per-journey completion time, shared by all virtual users
+ */
+public class JourneyStats {
+    private final Map<String, JourneyEntry> journeys = new ConcurrentSkipListMap<>();
+    
+    public void record(Journey journey, List<StepResult> results, long completionNanos) {
+        JourneyEntry entry = journeys.computeIfAbsent(journey.getName(), k -> new JourneyEntry());
+        boolean failed = false;
+        for (StepResult result : results) {
+            StepEntry step = entry.steps.computeIfAbsent(result.getStep().getName(), k -> new StepEntry());
+            switch (result.getStatus()) {
+                case OK:
+                    step.latency.recordNanos(result.getNanos());
+                    break;
+                case SKIPPED:
+                    step.skipped.increment();
+                    break;
+                default:
+                    step.failed.increment();
+                    entry.failures.computeIfAbsent(result.getDetail(), k -> new LongAdder()).increment();
+                    failed = true;
+            }
+        }
+        if (failed) {
+            entry.failed.increment();
+        } else {
+            entry.completion.recordNanos(completionNanos);
+        }
+    }
+    
+    public Map<String, JourneyEntry> getJourneys() {
+        return journeys;
+    }
+    
+    public long getCompleted() {
+        return journeys.values().stream().mapToLong(entry -> entry.completion.getCount()).sum();
+    }
+    
+    public long getFailed() {
+        return journeys.values().stream().mapToLong(entry -> entry.failed.sum()).sum();
+    }
+    
+    /**
+     * Completion times, step latencies and failure reasons for one journey definition
+     */
+    public static class JourneyEntry {
+        final LatencyHistogram completion = new LatencyHistogram();
+        final LongAdder failed = new LongAdder();
+        final Map<String, StepEntry> steps = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> failures = new ConcurrentSkipListMap<>();
+    }
+    
+    /**
+     * Latency of successful runs of a step plus counts of skipped and failed runs
+     */
+    public static class StepEntry {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,99 @@
+package com.merneats.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory, lock-free latency histogram in the style of HdrHistogram, recording microseconds.
+ * Values below 256 are exact; above that each power-of-two range is split into 128 linear sub-buckets,
+ * so every recorded value is kept to within 1% (two significant digits) up to one hour.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final long MAX_VALUE = 3_600_000_000L;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    
+    public void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+    
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+    
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+    
+    public double getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalMicros.sum() / count;
+    }
+    
+    /**
+     * Smallest recorded value (upper edge of its bucket) that at least the given percentage of samples do not exceed
+     */
+    public long percentileMicros(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+    
+    /**
+     * Adds another histogram's samples to this one, e.g. to build a total from per-sort breakdowns
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c > 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulateAndGet(other.getMaxMicros(), Math::max);
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int bucket = (64 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> bucket);
+        return SUB_BUCKET_COUNT + (bucket - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+    
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << bucket) - 1;
+    }
+}
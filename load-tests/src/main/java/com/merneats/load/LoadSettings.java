@@ -0,0 +1,182 @@
+package com.merneats.load;
+
+import com.merneats.config.ConfigManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Load generator settings, read through the shared ConfigManager so -Dkey overrides work as in the UI tests
+ */
+public class LoadSettings {
+    private final ConfigManager config = ConfigManager.getInstance();
+    
+    public String getApiUrl() {
+        return config.getApiUrl();
+    }
+    
+    /**
+     * Target arrival rate in requests per second, independent of how fast the server answers
+     */
+    public double getRate() {
+        return Double.parseDouble(config.getProperty("load.rate", "50"));
+    }
+    
+    public int getDurationSeconds() {
+        return Integer.parseInt(config.getProperty("load.durationSeconds", "60"));
+    }
+    
+    /**
+     * Requests scheduled during warm-up are sent but left out of the histograms
+     */
+    public int getWarmupSeconds() {
+        return Integer.parseInt(config.getProperty("load.warmupSeconds", "10"));
+    }
+    
+    public int getRequestTimeoutMillis() {
+        return Integer.parseInt(config.getProperty("load.requestTimeoutMillis", "10000"));
+    }
+    
+    /**
+     * Upper bound on outstanding requests; arrivals beyond it are counted as dropped instead of queued
+     */
+    public int getMaxInFlight() {
+        return Integer.parseInt(config.getProperty("load.maxInFlight", "10000"));
+    }
+    
+    public long getSeed() {
+        return Long.parseLong(config.getProperty("load.seed", "42"));
+    }
+    
+    public List<String> getCities() {
+        return list("load.cities", "London,Manchester,Birmingham");
+    }
+    
+    public List<String> getSearchQueries() {
+        return list("load.searchQueries", "pizza,burger,sushi,cafe");
+    }
+    
+    public List<String> getCuisines() {
+        return list("load.cuisines", "American,BBQ,Breakfast,Burgers,Cafe,Chinese,Desserts,French,Greek,Healthy,"
+                + "Indian,Italian,Japanese,Mexican,Noodles,Organic,Pasta,Pizza,Salads,Seafood,Spanish,Steak,"
+                + "Sushi,Tacos,Tapas,Vegan");
+    }
+    
+    public List<String> getSortOptions() {
+        return list("load.sortOptions", "lastUpdated,deliveryPrice,estimatedDeliveryTime");
+    }
+    
+    public int getMaxPage() {
+        return Integer.parseInt(config.getProperty("load.maxPage", "5"));
+    }
+    
+    /**
+     * Share of requests that carry a searchQuery / selectedCuisines filter
+     */
+    public double getQueryRatio() {
+        return Double.parseDouble(config.getProperty("load.queryRatio", "0.3"));
+    }
+    
+    public double getCuisineRatio() {
+        return Double.parseDouble(config.getProperty("load.cuisineRatio", "0.4"));
+    }
+    
+    /**
+     * Statuses that count as success; the search API answers 404 for a city with no restaurants
+     */
+    public Set<Integer> getAcceptedStatuses() {
+        return list("load.acceptedStatuses", "200,404").stream()
+                .map(Integer::parseInt)
+                .collect(Collectors.toSet());
+    }
+    
+    /**
+     * The run exits non-zero when the error rate exceeds this fraction
+     */
+    public double getMaxErrorRate() {
+        return Double.parseDouble(config.getProperty("load.maxErrorRate", "0.01"));
+    }
+    
+    /**
+     * Number of concurrent virtual users in the journey simulator
+     */
+    public int getJourneyUsers() {
+        return Integer.parseInt(config.getProperty("journey.users", "1000"));
+    }
+    
+    public int getJourneyRampUpSeconds() {
+        return Integer.parseInt(config.getProperty("journey.rampUpSeconds", "30"));
+    }
+    
+    public int getJourneyDurationSeconds() {
+        return Integer.parseInt(config.getProperty("journey.durationSeconds", "120"));
+    }
+    
+    public String getJourneyCity() {
+        return config.getProperty("journey.city", "London");
+    }
+    
+    /**
+     * Accounts registered for the run; virtual users share them round-robin
+     */
+    public int getJourneyAccounts() {
+        return Integer.parseInt(config.getProperty("journey.accounts", "20"));
+    }
+    
+    public String getJourneyUserPassword() {
+        return config.getProperty("journey.userPassword", config.getTestUserPassword());
+    }
+    
+    public String getJourneyUserDomain() {
+        return config.getTestUserDomain();
+    }
+    
+    /**
+     * Multiplier on every think time; 0 replays journeys back to back
+     */
+    public double getThinkTimeScale() {
+        return Double.parseDouble(config.getProperty("journey.thinkTimeScale", "1.0"));
+    }
+    
+    /**
+     * Number of restaurants (and owner accounts) the DataSeeder creates or removes
+     */
+    public int getSeedRestaurants() {
+        return Integer.parseInt(config.getProperty("seed.restaurants", "20000"));
+    }
+    
+    /**
+     * Seed for the generated data; the same value always yields the same restaurants and accounts
+     */
+    public long getSeedValue() {
+        return Long.parseLong(config.getProperty("seed.seed", "1"));
+    }
+    
+    public int getSeedConcurrency() {
+        return Integer.parseInt(config.getProperty("seed.concurrency", "32"));
+    }
+    
+    public int getSeedBatchSize() {
+        return Integer.parseInt(config.getProperty("seed.batchSize", "500"));
+    }
+    
+    /**
+     * Measured requests per page in the pagination profiler, after the warm-up requests
+     */
+    public int getPaginationSamples() {
+        return Integer.parseInt(config.getProperty("paginationProfile.samples", "5"));
+    }
+    
+    public int getPaginationWarmupSamples() {
+        return Integer.parseInt(config.getProperty("paginationProfile.warmupSamples", "1"));
+    }
+    
+    private List<String> list(String key, String defaultValue) {
+        return Arrays.stream(config.getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.merneats.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters and histograms for one load run.
+ * Response time is measured from the scheduled send time, so queueing behind a slow server is included
+ * (no coordinated omission); service time is measured from the moment the request was actually sent.
+ */
+public class LoadStats {
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> responseTimeBySort = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    
+    public void recordResponse(String sortOption, int status, boolean accepted, long scheduledNanos, long sentNanos,
+                               long finishedNanos, long bodyBytes) {
+        requests.increment();
+        bytes.add(bodyBytes);
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        responseTime.recordNanos(finishedNanos - scheduledNanos);
+        serviceTime.recordNanos(finishedNanos - sentNanos);
+        responseTimeBySort.computeIfAbsent(sortOption, k -> new LatencyHistogram())
+                .recordNanos(finishedNanos - scheduledNanos);
+        if (!accepted) {
+            errors.computeIfAbsent("HTTP " + status, k -> new LongAdder()).increment();
+        }
+    }
+    
+    /**
+     * A request that never produced a response (timeout, refused connection, dropped by the in-flight limit)
+     */
+    public void recordFailure(String reason) {
+        requests.increment();
+        errors.computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+    
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+    
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+    
+    public Map<String, LatencyHistogram> getResponseTimeBySort() {
+        return responseTimeBySort;
+    }
+    
+    public Map<String, LongAdder> getErrors() {
+        return errors;
+    }
+    
+    public Map<Integer, LongAdder> getStatuses() {
+        return statuses;
+    }
+    
+    public long getRequests() {
+        return requests.sum();
+    }
+    
+    public long getBytes() {
+        return bytes.sum();
+    }
+    
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+    
+    public double getErrorRate() {
+        long total = getRequests();
+        return total == 0 ? 0 : (double) getErrorCount() / total;
+    }
+}
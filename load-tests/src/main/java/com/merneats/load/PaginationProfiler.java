@@ -0,0 +1,93 @@
+package com.merneats.load;
+
+import com.merneats.config.ConfigManager;
+import com.merneats.utils.PaginationCurve;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Walks page=1..N of GET /api/restaurant/search/{city} for each sort option and records latency against page depth.
+ * Requests are sent one at a time so the curve shows the cost of skip() and countDocuments, not queueing.
+ */
+public class PaginationProfiler {
+    private final LoadSettings settings;
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final HttpClient client;
+    
+    public PaginationProfiler(LoadSettings settings) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .build();
+    }
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadSettings settings = new LoadSettings();
+        PaginationCurve curve = new PaginationProfiler(settings).run();
+        curve.write(new File("target/load/pagination-http.csv"), "Search API latency by page depth (ms):");
+    }
+    
+    public PaginationCurve run() throws IOException, InterruptedException {
+        PaginationCurve curve = new PaginationCurve();
+        String city = config.getPaginationProfileCity();
+        
+        for (String sortOption : config.getPaginationProfileSortOptions()) {
+            int pages = config.getPaginationProfileMaxPages();
+            for (int page = 1; page <= pages; page++) {
+                for (int sample = -settings.getPaginationWarmupSamples(); sample < settings.getPaginationSamples(); sample++) {
+                    long start = System.nanoTime();
+                    HttpResponse<String> response = client.send(request(city, sortOption, page),
+                            HttpResponse.BodyHandlers.ofString());
+                    double millis = (System.nanoTime() - start) / 1_000_000.0;
+                    
+                    if (response.statusCode() != 200) {
+                        throw new RuntimeException("Search for " + city + " page " + page + " returned "
+                                + response.statusCode() + "; seed data first (DataSeeder seed)");
+                    }
+                    if (sample >= 0) {
+                        curve.record(sortOption, page, millis);
+                    }
+                    if (page == 1 && sample == 0) {
+                        pages = Math.min(pages, totalPages(response.body()));
+                    }
+                }
+            }
+            System.out.println("Profiled " + sortOption + " to page " + pages);
+        }
+        return curve;
+    }
+    
+    private HttpRequest request(String city, String sortOption, int page) {
+        String query = "?page=" + page + "&sortOption=" + URLEncoder.encode(sortOption, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(settings.getApiUrl() + "/api/restaurant/search/"
+                        + URLEncoder.encode(city, StandardCharsets.UTF_8).replace("+", "%20") + query))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static int totalPages(String body) {
+        Map<String, Object> json = new Json().toType(body, Json.MAP_TYPE);
+        Object pagination = json.get("pagination");
+        if (pagination instanceof Map) {
+            Object pages = ((Map<String, Object>) pagination).get("pages");
+            if (pages instanceof Number) {
+                return ((Number) pages).intValue();
+            }
+        }
+        return 1;
+    }
+}
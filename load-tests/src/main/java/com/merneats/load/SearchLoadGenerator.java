@@ -0,0 +1,194 @@
+package com.merneats.load;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for GET /api/restaurant/search/{city}.
+ * Requests are started at a constant arrival rate on virtual threads whether or not earlier ones have finished,
+ * so a slow server shows up as latency rather than as a silently lower request rate.
+ */
+public class SearchLoadGenerator {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final LoadSettings settings;
+    private final SearchRequestMix mix;
+    private final Set<Integer> acceptedStatuses;
+    
+    public SearchLoadGenerator(LoadSettings settings) {
+        this.settings = settings;
+        this.mix = new SearchRequestMix(settings);
+        this.acceptedStatuses = settings.getAcceptedStatuses();
+    }
+    
+    public static void main(String[] args) {
+        LoadSettings settings = new LoadSettings();
+        System.out.println("========================================");
+        System.out.println("Search load test against " + settings.getApiUrl());
+        System.out.println("Rate: " + settings.getRate() + " req/s for " + settings.getDurationSeconds()
+                + "s after " + settings.getWarmupSeconds() + "s warm-up");
+        System.out.println("========================================");
+        
+        LoadStats stats = new SearchLoadGenerator(settings).run();
+        writeReport(stats, settings);
+        
+        if (stats.getErrorRate() > settings.getMaxErrorRate()) {
+            System.err.println(String.format("Error rate %.2f%% is above the allowed %.2f%%",
+                    stats.getErrorRate() * 100, settings.getMaxErrorRate() * 100));
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Runs warm-up and the measured phase, and returns the stats of the measured phase only
+     */
+    public LoadStats run() {
+        LoadStats warmup = new LoadStats();
+        LoadStats measured = new LoadStats();
+        Semaphore inFlight = new Semaphore(settings.getMaxInFlight());
+        
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+        
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .executor(workers)
+                     .connectTimeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                     .build()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                SearchRequestMix.SearchRequest request = mix.next();
+                LoadStats stats = scheduled < measureFrom ? warmup : measured;
+                
+                // If we fall behind, send immediately but keep the original schedule as the latency origin
+                long delay;
+                while ((delay = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                
+                if (!inFlight.tryAcquire()) {
+                    stats.recordFailure("dropped (in-flight limit)");
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        send(client, request, scheduled, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            System.out.println("Schedule complete, waiting for outstanding requests...");
+        }
+        return measured;
+    }
+    
+    private void send(HttpClient client, SearchRequestMix.SearchRequest request, long scheduled, LoadStats stats) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(request.getUri())
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMillis()))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            stats.recordResponse(request.getSortOption(), response.statusCode(),
+                    acceptedStatuses.contains(response.statusCode()), scheduled, sent, System.nanoTime(),
+                    response.body().length);
+        } catch (HttpTimeoutException e) {
+            stats.recordFailure("timeout");
+        } catch (IOException e) {
+            stats.recordFailure(e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordFailure("interrupted");
+        }
+    }
+    
+    /**
+     * Prints the percentile table and writes target/load/search-load.txt and search-load.json
+     */
+    static void writeReport(LoadStats stats, LoadSettings settings) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-26s %8s %9s %9s %9s %9s %9s%n",
+                "Latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max"));
+        appendRow(table, "response time", stats.getResponseTime());
+        appendRow(table, "service time", stats.getServiceTime());
+        for (Map.Entry<String, LatencyHistogram> sort : stats.getResponseTimeBySort().entrySet()) {
+            appendRow(table, "  sortOption=" + sort.getKey(), sort.getValue());
+        }
+        table.append(String.format("%nRequests: %d  Throughput: %.1f req/s  Avg body: %d bytes%n",
+                stats.getRequests(), stats.getRequests() / (double) settings.getDurationSeconds(),
+                stats.getRequests() == 0 ? 0 : stats.getBytes() / stats.getRequests()));
+        table.append(String.format("Errors: %d (%.2f%%)%n", stats.getErrorCount(), stats.getErrorRate() * 100));
+        stats.getErrors().forEach((reason, count) -> table.append(String.format("  %-30s %d%n", reason, count.sum())));
+        System.out.print(table);
+        
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("rate", settings.getRate());
+        json.put("durationSeconds", settings.getDurationSeconds());
+        json.put("requests", stats.getRequests());
+        json.put("errorRate", stats.getErrorRate());
+        json.put("responseTime", toMap(stats.getResponseTime()));
+        json.put("serviceTime", toMap(stats.getServiceTime()));
+        Map<String, Object> bySort = new LinkedHashMap<>();
+        stats.getResponseTimeBySort().forEach((sort, histogram) -> bySort.put(sort, toMap(histogram)));
+        json.put("responseTimeBySort", bySort);
+        Map<String, Object> errors = new LinkedHashMap<>();
+        stats.getErrors().forEach((reason, count) -> errors.put(reason, count.sum()));
+        json.put("errors", errors);
+        
+        File dir = new File("target/load");
+        dir.mkdirs();
+        try (PrintWriter out = new PrintWriter(new File(dir, "search-load.txt"), StandardCharsets.UTF_8)) {
+            out.print(table);
+            Files.writeString(new File(dir, "search-load.json").toPath(), new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write load report: " + e.getMessage());
+        }
+    }
+    
+    private static void appendRow(StringBuilder table, String label, LatencyHistogram histogram) {
+        table.append(String.format("%-26s %8d", label, histogram.getCount()));
+        for (double percentile : PERCENTILES) {
+            table.append(String.format(" %9.1f", histogram.percentileMicros(percentile) / 1000.0));
+        }
+        table.append(String.format(" %9.1f%n", histogram.getMaxMicros() / 1000.0));
+    }
+    
+    static Map<String, Object> toMap(LatencyHistogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getCount());
+        values.put("meanMs", histogram.getMeanMicros() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)) + "Ms",
+                    histogram.percentileMicros(percentile) / 1000.0);
+        }
+        values.put("maxMs", histogram.getMaxMicros() / 1000.0);
+        return values;
+    }
+}
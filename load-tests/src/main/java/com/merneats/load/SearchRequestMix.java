@@ -0,0 +1,92 @@
+package com.merneats.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a reproducible stream of search requests covering city, searchQuery, selectedCuisines, sortOption and page.
+ * Not thread-safe: the scheduler thread builds every request before handing it to a worker.
+ */
+public class SearchRequestMix {
+    private final LoadSettings settings;
+    private final SplittableRandom random;
+    
+    public SearchRequestMix(LoadSettings settings) {
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.getSeed());
+    }
+    
+    public SearchRequest next() {
+        String city = pick(settings.getCities());
+        String sortOption = pick(settings.getSortOptions());
+        
+        StringBuilder query = new StringBuilder("sortOption=").append(encode(sortOption));
+        if (random.nextDouble() < settings.getQueryRatio()) {
+            query.append("&searchQuery=").append(encode(pick(settings.getSearchQueries())));
+        }
+        if (random.nextDouble() < settings.getCuisineRatio()) {
+            List<String> cuisines = new ArrayList<>(settings.getCuisines());
+            List<String> selected = new ArrayList<>();
+            int count = 1 + random.nextInt(2);
+            for (int i = 0; i < count && !cuisines.isEmpty(); i++) {
+                selected.add(cuisines.remove(random.nextInt(cuisines.size())));
+            }
+            query.append("&selectedCuisines=").append(encode(String.join(",", selected)));
+        }
+        int page = nextPage();
+        query.append("&page=").append(page);
+        
+        URI uri = URI.create(settings.getApiUrl() + "/api/restaurant/search/" + encode(city) + "?" + query);
+        return new SearchRequest(uri, sortOption, page);
+    }
+    
+    /**
+     * Most users stay on the first page: page n is half as likely as page n - 1
+     */
+    private int nextPage() {
+        int page = 1;
+        while (page < settings.getMaxPage() && random.nextBoolean()) {
+            page++;
+        }
+        return page;
+    }
+    
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+    
+    /**
+     * One generated request and the parameters its latency is broken down by
+     */
+    public static class SearchRequest {
+        private final URI uri;
+        private final String sortOption;
+        private final int page;
+        
+        SearchRequest(URI uri, String sortOption, int page) {
+            this.uri = uri;
+            this.sortOption = sortOption;
+            this.page = page;
+        }
+        
+        public URI getUri() {
+            return uri;
+        }
+        
+        public String getSortOption() {
+            return sortOption;
+        }
+        
+        public int getPage() {
+            return page;
+        }
+    }
+}
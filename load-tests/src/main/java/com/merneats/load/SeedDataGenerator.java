@@ -0,0 +1,136 @@
+package com.merneats.load;
+
+import com.merneats.utils.TestUser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic restaurants and their owners. Restaurant i depends only on the seed and i,
+ * so any subset can be generated, re-seeded or torn down independently and in any order.
+ */
+public class SeedDataGenerator {
+    // Weighted roughly like a real delivery platform: a few large cities hold most of the restaurants
+    private static final String[][] CITIES = {
+            {"London", "30"}, {"Manchester", "10"}, {"Birmingham", "9"}, {"Leeds", "6"}, {"Glasgow", "6"},
+            {"Liverpool", "5"}, {"Bristol", "5"}, {"Edinburgh", "5"}, {"Sheffield", "4"}, {"Cardiff", "4"},
+            {"Newcastle", "4"}, {"Nottingham", "4"}, {"Leicester", "3"}, {"Brighton", "3"}, {"York", "2"}
+    };
+    
+    // Same names as the frontend's cuisineList, weighted by popularity
+    private static final String[][] CUISINES = {
+            {"Pizza", "14"}, {"Burgers", "12"}, {"Chinese", "11"}, {"Indian", "11"}, {"Italian", "10"},
+            {"Japanese", "7"}, {"Sushi", "6"}, {"Mexican", "6"}, {"American", "5"}, {"Breakfast", "5"},
+            {"Cafe", "5"}, {"Healthy", "4"}, {"Salads", "4"}, {"Noodles", "4"}, {"Desserts", "4"},
+            {"Pasta", "4"}, {"Seafood", "3"}, {"BBQ", "3"}, {"Steak", "3"}, {"Greek", "3"}, {"Vegan", "3"},
+            {"French", "2"}, {"Spanish", "2"}, {"Tacos", "2"}, {"Tapas", "2"}, {"Organic", "1"}
+    };
+    
+    private static final String[] NAME_PREFIXES = {
+            "The", "Golden", "Little", "Urban", "Royal", "Happy", "Blue", "Old Town", "Corner", "Green"
+    };
+    private static final String[] NAME_SUFFIXES = {
+            "Kitchen", "House", "Bistro", "Grill", "Express", "Table", "Garden", "Diner", "Canteen", "Spot"
+    };
+    private static final String[] DISH_STYLES = {
+            "Classic", "Spicy", "Smoky", "Crispy", "Garlic", "House", "Chef's", "Loaded", "Mini", "Double"
+    };
+    private static final String[] DISHES = {
+            "Margherita", "Cheeseburger", "Chow Mein", "Chicken Tikka", "Lasagne", "Ramen", "California Roll",
+            "Burrito", "Pancakes", "Flat White", "Buddha Bowl", "Caesar Salad", "Pad Thai", "Brownie", "Carbonara",
+            "Fish and Chips", "Ribs", "Ribeye", "Gyros", "Falafel Wrap", "Croissant", "Paella", "Tacos al Pastor",
+            "Patatas Bravas", "Granola"
+    };
+    
+    private final long seed;
+    private final String emailDomain;
+    private final String password;
+    
+    public SeedDataGenerator(long seed, String emailDomain, String password) {
+        this.seed = seed;
+        this.emailDomain = emailDomain;
+        this.password = password;
+    }
+    
+    public TestUser owner(int index) {
+        return new TestUser("seed" + seed + "-" + index + "@" + emailDomain, password, "Seed Owner " + index);
+    }
+    
+    /**
+     * Form fields for POST /api/my/restaurant, in the same shape the frontend's ManageRestaurantForm sends
+     */
+    public Map<String, String> restaurant(int index) {
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + index);
+        Map<String, String> fields = new LinkedHashMap<>();
+        
+        fields.put("restaurantName", pick(random, NAME_PREFIXES) + " " + pick(random, NAME_SUFFIXES) + " " + index);
+        fields.put("city", weighted(random, CITIES));
+        fields.put("country", "United Kingdom");
+        // Prices are in pence, as the frontend multiplies by 100 before submitting
+        fields.put("deliveryPrice", Integer.toString(random.nextInt(0, 60) * 10));
+        fields.put("estimatedDeliveryTime", Integer.toString(15 + 5 * random.nextInt(0, 12)));
+        
+        List<String> cuisines = pickCuisines(random, 1 + random.nextInt(3) + (random.nextInt(4) == 0 ? 1 : 0));
+        for (int i = 0; i < cuisines.size(); i++) {
+            fields.put("cuisines[" + i + "]", cuisines.get(i));
+        }
+        
+        // The API accepts at most 50 multipart parts, which caps menus at well under 20 items
+        int menuSize = 3 + random.nextInt(10);
+        Set<String> dishes = new LinkedHashSet<>();
+        while (dishes.size() < menuSize) {
+            dishes.add(pick(random, DISH_STYLES) + " " + pick(random, DISHES));
+        }
+        int i = 0;
+        for (String dish : dishes) {
+            fields.put("menuItems[" + i + "][name]", dish);
+            // Log-normal around £9, in pence
+            fields.put("menuItems[" + i + "][price]", Long.toString(Math.round(900 * Math.exp(0.45 * random.nextGaussian()))));
+            i++;
+        }
+        return fields;
+    }
+    
+    /**
+     * Profile for the owner, living in the restaurant's city
+     */
+    public Map<String, Object> ownerProfile(int index, String city) {
+        return Map.of(
+                "name", owner(index).getName(),
+                "addressLine1", (1 + index % 200) + " Seed Street",
+                "city", city,
+                "country", "United Kingdom");
+    }
+    
+    private List<String> pickCuisines(SplittableRandom random, int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(weighted(random, CUISINES));
+        }
+        return new ArrayList<>(picked);
+    }
+    
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static String weighted(SplittableRandom random, String[][] weightedValues) {
+        int total = 0;
+        for (String[] value : weightedValues) {
+            total += Integer.parseInt(value[1]);
+        }
+        int ticket = random.nextInt(total);
+        for (String[] value : weightedValues) {
+            ticket -= Integer.parseInt(value[1]);
+            if (ticket < 0) {
+                return value[0];
+            }
+        }
+        return weightedValues[weightedValues.length - 1][0];
+    }
+}
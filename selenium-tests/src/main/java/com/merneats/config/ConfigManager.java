@@ -2,14 +2,17 @@ package com.merneats.config;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
  * Configuration manager for test settings
  */
 public class ConfigManager {
-    private static ConfigManager instance;
-    private Properties properties;
+    private static volatile ConfigManager instance;
+    private final Properties properties;
     
     private ConfigManager() {
         properties = new Properties();
@@ -34,8 +37,16 @@ public class ConfigManager {
             properties.load(fis);
             fis.close();
         } catch (IOException e) {
-            // Use default properties if file not found
-            setDefaultProperties();
+            // Fall back to the classpath copy (e.g. when run from another module), then to defaults
+            try (InputStream in = ConfigManager.class.getResourceAsStream("/config.properties")) {
+                if (in == null) {
+                    setDefaultProperties();
+                } else {
+                    properties.load(in);
+                }
+            } catch (IOException ex) {
+                setDefaultProperties();
+            }
         }
     }
     
@@ -44,9 +55,27 @@ public class ConfigManager {
         properties.setProperty("apiUrl", "http://localhost:7000");
         properties.setProperty("browser", "chrome");
         properties.setProperty("headless", "true");
-        properties.setProperty("implicitWait", "10");
+        properties.setProperty("implicitWait", "0");
+        properties.setProperty("waitPollingMillis", "100");
         properties.setProperty("explicitWait", "15");
         properties.setProperty("pageLoadTimeout", "30");
+        properties.setProperty("networkQuietMillis", "300");
+        properties.setProperty("domQuietMillis", "200");
+        properties.setProperty("perfCapture", "true");
+        properties.setProperty("perfBudgetsEnforced", "true");
+        properties.setProperty("networkCapture", "true");
+        properties.setProperty("metricsStorePath", "perf-history/metrics.csv");
+        properties.setProperty("baselineWindow", "20");
+        properties.setProperty("baselineMinRuns", "5");
+        properties.setProperty("regressionThreshold", "3.0");
+        properties.setProperty("regressionMinRelativeChange", "0.10");
+        properties.setProperty("regressionFailsTest", "false");
+        properties.setProperty("driverPoolSize", "4");
+        properties.setProperty("driverMaxReuse", "20");
+        properties.setProperty("suite.parallel", "none");
+        properties.setProperty("suite.threadCount", "1");
+        properties.setProperty("provisionTestUsers", "true");
+        properties.setProperty("testUserDomain", "merneats.test");
         
         // Test user credentials
         properties.setProperty("testUserEmail", "testuser@example.com");
@@ -58,15 +87,15 @@ public class ConfigManager {
     }
     
     public String getBaseUrl() {
-        return properties.getProperty("baseUrl");
+        return getProperty("baseUrl");
     }
     
     public String getApiUrl() {
-        return properties.getProperty("apiUrl");
+        return getProperty("apiUrl");
     }
     
     public String getBrowser() {
-        return properties.getProperty("browser");
+        return getProperty("browser");
     }
     
     public boolean isHeadless() {
@@ -75,42 +104,383 @@ public class ConfigManager {
     }
     
     public int getImplicitWait() {
-        return Integer.parseInt(properties.getProperty("implicitWait"));
+        return Integer.parseInt(getProperty("implicitWait"));
     }
     
     public int getExplicitWait() {
-        return Integer.parseInt(properties.getProperty("explicitWait"));
+        return Integer.parseInt(getProperty("explicitWait"));
+    }
+    
+    public int getWaitPollingMillis() {
+        return Integer.parseInt(getProperty("waitPollingMillis", "100"));
     }
     
     public int getPageLoadTimeout() {
-        return Integer.parseInt(properties.getProperty("pageLoadTimeout"));
+        return Integer.parseInt(getProperty("pageLoadTimeout"));
+    }
+    
+    public int getNetworkQuietMillis() {
+        return Integer.parseInt(getProperty("networkQuietMillis", "300"));
+    }
+    
+    public int getDomQuietMillis() {
+        return Integer.parseInt(getProperty("domQuietMillis", "200"));
+    }
+    
+    public boolean isPerfCaptureEnabled() {
+        return Boolean.parseBoolean(getProperty("perfCapture", "true"));
+    }
+    
+    public boolean isPerfBudgetsEnforced() {
+        return Boolean.parseBoolean(getProperty("perfBudgetsEnforced", "true"));
+    }
+    
+    public boolean isNetworkCaptureEnabled() {
+        return Boolean.parseBoolean(getProperty("networkCapture", "true"));
+    }
+    
+    /**
+     * Blocks images, media, fonts and analytics and turns off CSS animations unless a test opts out.
+     * Off by default: lean loads make LCP and transfer-size budgets and the metrics history meaningless
+     */
+    public boolean isLeanMode() {
+        return Boolean.parseBoolean(getProperty("leanMode", "false"));
+    }
+    
+    /**
+     * CDP Fetch resource types failed in lean mode
+     */
+    public List<String> getLeanBlockedTypes() {
+        return Arrays.asList(getProperty("lean.blockedTypes", "Image,Media,Font").split("\\s*,\\s*"));
+    }
+    
+    /**
+     * Network.setBlockedURLs patterns, * matches any characters
+     */
+    public List<String> getLeanBlockedUrls() {
+        return Arrays.asList(getProperty("lean.blockedUrls",
+                "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,*hotjar.com*,*segment.io*").split("\\s*,\\s*"));
+    }
+    
+    public boolean isLeanDisableAnimations() {
+        return Boolean.parseBoolean(getProperty("lean.disableAnimations", "true"));
+    }
+    
+    /**
+     * Loads each route full and lean once to report the savings. This adds cold loads to whichever test reaches the
+     * route first, skewing its timings and metrics history, so only turn it on for a dedicated calibration run.
+     */
+    public boolean isLeanMeasureSavings() {
+        return Boolean.parseBoolean(getProperty("lean.measureSavings", "false"));
+    }
+    
+    public boolean isCommandProfilingEnabled() {
+        return Boolean.parseBoolean(getProperty("commandProfiling", "true"));
+    }
+    
+    public int getArtifactQueueCapacity() {
+        return Integer.parseInt(getProperty("artifactQueueCapacity", "32"));
+    }
+    
+    public int getArtifactWriterThreads() {
+        return Integer.parseInt(getProperty("artifactWriterThreads", "2"));
+    }
+    
+    /**
+     * png keeps the capture as is; jpg re-encodes with screenshotJpegQuality
+     */
+    public String getScreenshotFormat() {
+        return getProperty("screenshotFormat", "png");
+    }
+    
+    public double getScreenshotScale() {
+        return Double.parseDouble(getProperty("screenshotScale", "1.0"));
+    }
+    
+    public float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshotJpegQuality", "0.8"));
+    }
+    
+    /**
+     * off, record (proxy to apiUrl and save responses) or replay (serve saved responses)
+     */
+    public String getApiStubMode() {
+        return getProperty("apiStub.mode", "off");
+    }
+    
+    public int getApiStubPort() {
+        return Integer.parseInt(getProperty("apiStub.port", "7001"));
+    }
+    
+    public String getApiStubRecordings() {
+        return getProperty("apiStub.recordings", "api-recordings/api-recordings.json");
+    }
+    
+    public int getApiStubLatencyMillis() {
+        return Integer.parseInt(getProperty("apiStub.latencyMillis", "0"));
+    }
+    
+    public int getApiStubLatencyJitterMillis() {
+        return Integer.parseInt(getProperty("apiStub.latencyJitterMillis", "0"));
+    }
+    
+    /**
+     * The pagination depth profile walks every page, so it only runs when asked for
+     */
+    public boolean isPaginationProfileEnabled() {
+        return Boolean.parseBoolean(getProperty("paginationProfile.enabled", "false"));
+    }
+    
+    public int getPaginationProfileMaxPages() {
+        return Integer.parseInt(getProperty("paginationProfile.maxPages", "20"));
+    }
+    
+    public List<String> getPaginationProfileSortOptions() {
+        return Arrays.asList(getProperty("paginationProfile.sortOptions",
+                "lastUpdated,deliveryPrice,estimatedDeliveryTime").split("\\s*,\\s*"));
+    }
+    
+    public String getPaginationProfileCity() {
+        return getProperty("paginationProfile.city", "London");
+    }
+    
+    /**
+     * Git ref to diff against when selecting tests by impact; unset runs the whole suite
+     */
+    public String getImpactBase() {
+        return getProperty("impact.base");
+    }
+    
+    /**
+     * Comma separated changed paths to use instead of running git diff
+     */
+    public String getImpactChangedFiles() {
+        return getProperty("impact.changedFiles");
+    }
+    
+    public String getImpactCoveragePath() {
+        return getProperty("impact.coveragePath", "impact-history/test-coverage.json");
+    }
+    
+    public String getImpactRepoRoot() {
+        return getProperty("impact.repoRoot", "..");
+    }
+    
+    /**
+     * Globs for changed paths that never affect the UI tests
+     */
+    public List<String> getImpactIgnore() {
+        return Arrays.asList(getProperty("impact.ignore", "*.md,**/*.md,.gitignore,load-tests/**").split("\\s*,\\s*"));
+    }
+    
+    /**
+     * K/N to run only the K-th of N duration-balanced shards; unset runs every test
+     */
+    public String getShard() {
+        return getProperty("shard");
+    }
+    
+    /**
+     * Per-test durations the shards are balanced on, refreshed by ShardReport after each sharded run
+     */
+    public String getShardDurationsPath() {
+        return getProperty("shard.durationsPath", "perf-history/test-durations.properties");
+    }
+    
+    /**
+     * Waits at suite start until the API health check and the frontend answer
+     */
+    public boolean isReadinessGateEnabled() {
+        return Boolean.parseBoolean(getProperty("readiness.enabled", "true"));
+    }
+    
+    public int getReadinessTimeoutSeconds() {
+        return Integer.parseInt(getProperty("readiness.timeoutSeconds", "60"));
+    }
+    
+    public String getReadinessHealthPath() {
+        return getProperty("readiness.healthPath", "/health");
+    }
+    
+    /**
+     * Consecutive tests hitting an unreachable app or a dead browser before the rest of the suite is skipped
+     */
+    public int getCircuitBreakerThreshold() {
+        return Integer.parseInt(getProperty("circuitBreaker.threshold", "3"));
+    }
+    
+    /**
+     * Where StreamingReporter writes results.jsonl and report.html
+     */
+    public String getReportDir() {
+        return getProperty("report.dir", "target/report");
+    }
+    
+    /**
+     * Passing tests shown in report.html; failures and skips are always listed, and results.jsonl has everything
+     */
+    public int getReportMaxHtmlRows() {
+        return Integer.parseInt(getProperty("report.maxHtmlRows", "2000"));
+    }
+    
+    public int getReportMaxMessageChars() {
+        return Integer.parseInt(getProperty("report.maxMessageChars", "2000"));
+    }
+    
+    /**
+     * Compares every page navigateTo settles on with its baseline in visual.baselineDir
+     */
+    public boolean isVisualDiffEnabled() {
+        return Boolean.parseBoolean(getProperty("visual.enabled", "false"));
+    }
+    
+    public String getVisualBaselineDir() {
+        return getProperty("visual.baselineDir", "visual-baselines");
+    }
+    
+    /**
+     * Overwrites existing baselines with this run's screenshots
+     */
+    public boolean isVisualUpdateBaselines() {
+        return Boolean.parseBoolean(getProperty("visual.updateBaselines", "false"));
+    }
+    
+    /**
+     * CSS selectors for dynamic content painted out before comparing
+     */
+    public List<String> getVisualIgnoreSelectors() {
+        String selectors = getProperty("visual.ignoreSelectors", "img");
+        return selectors.isBlank() ? List.of() : Arrays.asList(selectors.trim().split("\\s*,\\s*"));
+    }
+    
+    /**
+     * Perceptual hash bits that may differ before the pixel diff runs; -1 diffs every page
+     */
+    public int getVisualHashThreshold() {
+        return Integer.parseInt(getProperty("visual.hashThreshold", "0"));
+    }
+    
+    public int getVisualPixelTolerance() {
+        return Integer.parseInt(getProperty("visual.pixelTolerance", "16"));
+    }
+    
+    public double getVisualMaxDiffRatio() {
+        return Double.parseDouble(getProperty("visual.maxDiffRatio", "0.001"));
+    }
+    
+    public int getVisualTileSize() {
+        return Integer.parseInt(getProperty("visual.tileSize", "128"));
+    }
+    
+    public boolean isVisualFailsTest() {
+        return Boolean.parseBoolean(getProperty("visual.failsTest", "true"));
+    }
+    
+    public String getMetricsStorePath() {
+        return getProperty("metricsStorePath", "perf-history/metrics.csv");
+    }
+    
+    public int getBaselineWindow() {
+        return Integer.parseInt(getProperty("baselineWindow", "20"));
+    }
+    
+    public int getBaselineMinRuns() {
+        return Integer.parseInt(getProperty("baselineMinRuns", "5"));
+    }
+    
+    /**
+     * Number of scaled MADs above the baseline median that counts as a regression
+     */
+    public double getRegressionThreshold() {
+        return Double.parseDouble(getProperty("regressionThreshold", "3.0"));
+    }
+    
+    public double getRegressionMinRelativeChange() {
+        return Double.parseDouble(getProperty("regressionMinRelativeChange", "0.10"));
+    }
+    
+    public boolean isRegressionFailsTest() {
+        return Boolean.parseBoolean(getProperty("regressionFailsTest", "false"));
+    }
+    
+    /**
+     * Browsers launched in the background at suite start, capped by the pool size
+     */
+    public int getDriverPrewarm() {
+        return Integer.parseInt(getProperty("driverPrewarm", "2"));
+    }
+    
+    /**
+     * chromedriver binaries are kept here per Chrome version, outside the WebDriverManager cache that CI wipes
+     */
+    public String getDriverCacheDir() {
+        return getProperty("driverCacheDir", System.getProperty("user.home") + "/.cache/merneats/chromedriver");
+    }
+    
+    public int getDriverPoolSize() {
+        return Integer.parseInt(getProperty("driverPoolSize", "4"));
+    }
+    
+    public int getDriverMaxReuse() {
+        return Integer.parseInt(getProperty("driverMaxReuse", "20"));
+    }
+    
+    /**
+     * TestNG parallel mode for the suite: none, methods or classes
+     */
+    public String getParallelMode() {
+        return getProperty("suite.parallel", "none");
+    }
+    
+    public int getThreadCount() {
+        String threadCount = getProperty("suite.threadCount", "1");
+        if ("auto".equalsIgnoreCase(threadCount)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(threadCount);
+    }
+    
+    public boolean isProvisionTestUsers() {
+        return Boolean.parseBoolean(getProperty("provisionTestUsers", "true"));
+    }
+    
+    public String getTestUserDomain() {
+        return getProperty("testUserDomain", "merneats.test");
     }
     
     public String getTestUserEmail() {
-        return properties.getProperty("testUserEmail");
+        return getProperty("testUserEmail");
     }
     
     public String getTestUserPassword() {
-        return properties.getProperty("testUserPassword");
+        return getProperty("testUserPassword");
     }
     
     public String getTestUserName() {
-        return properties.getProperty("testUserName");
+        return getProperty("testUserName");
     }
     
     public String getTestUserAddress() {
-        return properties.getProperty("testUserAddress");
+        return getProperty("testUserAddress");
     }
     
     public String getTestUserCity() {
-        return properties.getProperty("testUserCity");
+        return getProperty("testUserCity");
     }
     
     public String getTestUserCountry() {
-        return properties.getProperty("testUserCountry");
+        return getProperty("testUserCountry");
     }
     
+    /**
+     * Looks up a setting, letting -Dkey=value on the command line override the file
+     */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
+    }
+    
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
     }
 }
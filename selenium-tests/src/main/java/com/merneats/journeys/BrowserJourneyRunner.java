@@ -0,0 +1,92 @@
+package com.merneats.journeys;
+
+import com.merneats.pages.DetailPage;
+import com.merneats.pages.HomePage;
+import com.merneats.pages.SearchPage;
+import com.merneats.pages.UserProfilePage;
+import com.merneats.utils.AuthHelper;
+import com.merneats.utils.DriverManager;
+import com.merneats.utils.TestUser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks a journey in the current thread's browser through the page objects.
+ * Think times are ignored: the browser already waits for the page to settle after every action.
+ */
+public class BrowserJourneyRunner {
+    private final TestUser user;
+    private SearchPage searchPage;
+    
+    public BrowserJourneyRunner(TestUser user) {
+        this.user = user;
+    }
+    
+    /**
+     * Runs every step in order and stops at the first failure, which is returned as the last, FAILED result
+     */
+    public List<StepResult> run(Journey journey) {
+        List<StepResult> results = new ArrayList<>();
+        for (JourneyStep step : journey.getSteps()) {
+            long start = System.nanoTime();
+            try {
+                String skipped = perform(step);
+                results.add(new StepResult(step, skipped == null ? StepResult.Status.OK : StepResult.Status.SKIPPED,
+                        System.nanoTime() - start, skipped));
+            } catch (RuntimeException | AssertionError e) {
+                results.add(new StepResult(step, StepResult.Status.FAILED, System.nanoTime() - start, e.getMessage()));
+                System.out.println("[" + Thread.currentThread().getId() + "] Journey " + journey.getName()
+                        + " failed at " + step.getName() + ": " + e.getMessage());
+                break;
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Performs one step and returns a reason when it had to be skipped, or null
+     */
+    private String perform(JourneyStep step) {
+        switch (step.getType()) {
+            case LOGIN:
+                AuthHelper.authenticate(DriverManager.getDriver(), user);
+                return null;
+            case SEARCH:
+                searchPage = new HomePage().open().searchFor(step.arg(0));
+                return null;
+            case TOGGLE_CUISINE:
+                if (searchPage == null) {
+                    return "no search open";
+                }
+                return searchPage.toggleCuisine(step.arg(0)) == null ? "cuisine filter not shown" : null;
+            case SORT:
+                if (searchPage == null) {
+                    return "no search open";
+                }
+                return searchPage.sortBy(step.arg(0)) ? null : "sort option not shown";
+            case NEXT_PAGE:
+                if (searchPage == null || !searchPage.hasNextPage()) {
+                    return "no next page";
+                }
+                searchPage.nextPage();
+                return null;
+            case OPEN_DETAIL:
+                if (searchPage == null) {
+                    return "no search open";
+                }
+                DetailPage detail = searchPage.openFirstResult();
+                searchPage = null;
+                return detail == null ? "no results" : null;
+            case UPDATE_PROFILE:
+                UserProfilePage profile = new UserProfilePage().open();
+                if (!profile.hasForm()) {
+                    return "profile form not shown";
+                }
+                profile.fill(step.arg(0), step.arg(1), step.arg(2), step.arg(3)).save();
+                return null;
+            default:
+                throw new IllegalStateException("Unknown journey step " + step.getType());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.merneats.journeys;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A scripted sequence of user actions, built fluently:
+ * <pre>
+ * Journey.named("browse").weight(3).thinkTime(ThinkTime.exponential(2000))
+ *         .login().search("London").toggleCuisine("Italian").sort("deliveryPrice").nextPage().openDetail();
+ * </pre>
+ * The same definition runs in a browser through {@link BrowserJourneyRunner} or over HTTP in the load-tests module.
+ */
+public class Journey {
+    private final String name;
+    private final List<JourneyStep> steps = new ArrayList<>();
+    private int weight = 1;
+    private ThinkTime thinkTime = ThinkTime.NONE;
+    
+    private Journey(String name) {
+        this.name = name;
+    }
+    
+    public static Journey named(String name) {
+        return new Journey(name);
+    }
+    
+    /**
+     * Relative frequency of this journey within a mix
+     */
+    public Journey weight(int weight) {
+        this.weight = weight;
+        return this;
+    }
+    
+    /**
+     * Think time applied before each step added after this call
+     */
+    public Journey thinkTime(ThinkTime thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+    
+    public Journey login() {
+        return step(JourneyStep.Type.LOGIN);
+    }
+    
+    public Journey search(String city) {
+        return step(JourneyStep.Type.SEARCH, city);
+    }
+    
+    public Journey toggleCuisine(String cuisine) {
+        return step(JourneyStep.Type.TOGGLE_CUISINE, cuisine);
+    }
+    
+    public Journey sort(String sortOption) {
+        return step(JourneyStep.Type.SORT, sortOption);
+    }
+    
+    public Journey nextPage() {
+        return step(JourneyStep.Type.NEXT_PAGE);
+    }
+    
+    public Journey openDetail() {
+        return step(JourneyStep.Type.OPEN_DETAIL);
+    }
+    
+    public Journey updateProfile(String name, String address, String city, String country) {
+        return step(JourneyStep.Type.UPDATE_PROFILE, name, address, city, country);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getWeight() {
+        return weight;
+    }
+    
+    public List<JourneyStep> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+    
+    private Journey step(JourneyStep.Type type, String... args) {
+        steps.add(new JourneyStep(type, List.of(args), thinkTime));
+        return this;
+    }
+}
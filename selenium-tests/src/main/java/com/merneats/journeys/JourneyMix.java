@@ -0,0 +1,35 @@
+package com.merneats.journeys;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks journeys at random in proportion to their weights
+ */
+public class JourneyMix {
+    private final List<Journey> journeys;
+    private final int totalWeight;
+    
+    public JourneyMix(List<Journey> journeys) {
+        if (journeys.isEmpty()) {
+            throw new IllegalArgumentException("A journey mix needs at least one journey");
+        }
+        this.journeys = List.copyOf(journeys);
+        this.totalWeight = journeys.stream().mapToInt(Journey::getWeight).sum();
+    }
+    
+    public Journey pick(RandomGenerator random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Journey journey : journeys) {
+            ticket -= journey.getWeight();
+            if (ticket < 0) {
+                return journey;
+            }
+        }
+        return journeys.get(journeys.size() - 1);
+    }
+    
+    public List<Journey> getJourneys() {
+        return journeys;
+    }
+}
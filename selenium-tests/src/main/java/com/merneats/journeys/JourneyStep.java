@@ -0,0 +1,49 @@
+package com.merneats.journeys;
+
+import java.util.List;
+
+/**
+ * One user action in a journey; runners decide how to perform it (HTTP calls or page objects)
+ */
+public class JourneyStep {
+    
+    public enum Type {
+        LOGIN,
+        SEARCH,
+        TOGGLE_CUISINE,
+        SORT,
+        NEXT_PAGE,
+        OPEN_DETAIL,
+        UPDATE_PROFILE
+    }
+    
+    private final Type type;
+    private final List<String> args;
+    private final ThinkTime thinkTime;
+    
+    JourneyStep(Type type, List<String> args, ThinkTime thinkTime) {
+        this.type = type;
+        this.args = args;
+        this.thinkTime = thinkTime;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String arg(int index) {
+        return args.get(index);
+    }
+    
+    public ThinkTime getThinkTime() {
+        return thinkTime;
+    }
+    
+    /**
+     * Label used in reports, e.g. "search(London)"; multi-field form values are left out
+     */
+    public String getName() {
+        String name = type.name().toLowerCase();
+        return args.size() == 1 ? name + "(" + args.get(0) + ")" : name;
+    }
+}
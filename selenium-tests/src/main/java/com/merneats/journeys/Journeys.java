@@ -0,0 +1,58 @@
+package com.merneats.journeys;
+
+import java.util.List;
+
+/**
+ * The journeys our UI tests walk through, shared by the browser tests and the HTTP journey simulator
+ */
+public class Journeys {
+    
+    private Journeys() {
+    }
+    
+    /**
+     * login -> search city -> toggle cuisines -> sort -> paginate -> open detail -> update profile
+     */
+    public static Journey browseAndUpdateProfile(String city) {
+        return Journey.named("browseAndUpdateProfile")
+                .weight(2)
+                .thinkTime(ThinkTime.logNormal(1500, 0.6))
+                .login()
+                .search(city)
+                .toggleCuisine("Italian")
+                .toggleCuisine("Pizza")
+                .sort("deliveryPrice")
+                .nextPage()
+                .openDetail()
+                .updateProfile("Journey User", "1 Journey Street", city, "United Kingdom");
+    }
+    
+    /**
+     * Anonymous visitor comparing restaurants in a city
+     */
+    public static Journey browseAnonymously(String city) {
+        return Journey.named("browseAnonymously")
+                .weight(5)
+                .thinkTime(ThinkTime.exponential(2000))
+                .search(city)
+                .sort("estimatedDeliveryTime")
+                .nextPage()
+                .nextPage()
+                .openDetail();
+    }
+    
+    /**
+     * Returning user who only checks their profile
+     */
+    public static Journey updateProfile(String city) {
+        return Journey.named("updateProfile")
+                .weight(1)
+                .thinkTime(ThinkTime.uniform(500, 3000))
+                .login()
+                .updateProfile("Profile User", "2 Profile Road", city, "United Kingdom");
+    }
+    
+    public static JourneyMix defaultMix(String city) {
+        return new JourneyMix(List.of(browseAndUpdateProfile(city), browseAnonymously(city), updateProfile(city)));
+    }
+}
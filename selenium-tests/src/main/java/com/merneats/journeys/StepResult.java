@@ -0,0 +1,53 @@
+package com.merneats.journeys;
+
+/**
+ * Outcome of one journey step as seen by a runner
+ */
+public class StepResult {
+    
+    public enum Status {
+        OK,
+        SKIPPED,
+        FAILED
+    }
+    
+    private final JourneyStep step;
+    private final Status status;
+    private final long nanos;
+    private final String detail;
+    
+    public StepResult(JourneyStep step, Status status, long nanos, String detail) {
+        this.step = step;
+        this.status = status;
+        this.nanos = nanos;
+        this.detail = detail;
+    }
+    
+    public JourneyStep getStep() {
+        return step;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public long getNanos() {
+        return nanos;
+    }
+    
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+    
+    /**
+     * Why the step was skipped or failed; null for OK
+     */
+    public String getDetail() {
+        return detail;
+    }
+    
+    @Override
+    public String toString() {
+        return step.getName() + " " + status + " " + getMillis() + "ms" + (detail == null ? "" : " (" + detail + ")");
+    }
+}
@@ -0,0 +1,54 @@
+package com.merneats.journeys;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Pause a simulated user takes before a step, sampled from a distribution
+ */
+public abstract class ThinkTime {
+    public static final ThinkTime NONE = fixed(0);
+    
+    public abstract long sampleMillis(RandomGenerator random);
+    
+    public static ThinkTime fixed(long millis) {
+        return new ThinkTime() {
+            @Override
+            public long sampleMillis(RandomGenerator random) {
+                return millis;
+            }
+        };
+    }
+    
+    public static ThinkTime uniform(long minMillis, long maxMillis) {
+        return new ThinkTime() {
+            @Override
+            public long sampleMillis(RandomGenerator random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+        };
+    }
+    
+    /**
+     * Memoryless pauses around a mean, as between independent page views
+     */
+    public static ThinkTime exponential(long meanMillis) {
+        return new ThinkTime() {
+            @Override
+            public long sampleMillis(RandomGenerator random) {
+                return Math.round(random.nextExponential() * meanMillis);
+            }
+        };
+    }
+    
+    /**
+     * Right-skewed pauses: mostly close to the median with an occasional long read, like real reading times
+     */
+    public static ThinkTime logNormal(long medianMillis, double sigma) {
+        return new ThinkTime() {
+            @Override
+            public long sampleMillis(RandomGenerator random) {
+                return Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.merneats.pages;
+
+import com.merneats.config.ConfigManager;
+import com.merneats.utils.DriverManager;
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base class for page objects.
+ * Locators are static constants in each page; resolved elements are cached until the page navigates away.
+ * A page object belongs to the thread that created it, like the driver it wraps.
+ */
+public abstract class BasePage {
+    protected final ConfigManager config = ConfigManager.getInstance();
+    private final Map<By, WebElement> elements = new HashMap<>();
+    
+    protected WebDriver driver() {
+        return DriverManager.getDriver();
+    }
+    
+    /**
+     * Loads an app route and waits until it has settled
+     */
+    protected void load(String path) {
+        invalidate();
+        DriverManager.navigateTo(config.getBaseUrl() + path);
+    }
+    
+    /**
+     * Resolves a visible element once per page lifetime
+     */
+    protected WebElement element(By locator) {
+        return elements.computeIfAbsent(locator, DriverManager::waitForVisible);
+    }
+    
+    protected WebElement clickable(By locator) {
+        return elements.computeIfAbsent(locator, DriverManager::waitForClickable);
+    }
+    
+    protected List<WebElement> all(By locator) {
+        return driver().findElements(locator);
+    }
+    
+    protected boolean isPresent(By locator) {
+        return DriverManager.isElementPresent(locator);
+    }
+    
+    /**
+     * Runs an action on a cached element, re-resolving it once if React replaced the node
+     */
+    protected <T> T with(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(element(locator));
+        } catch (StaleElementReferenceException e) {
+            elements.remove(locator);
+            return action.apply(element(locator));
+        }
+    }
+    
+    /**
+     * Sets several fields in a single round trip; see DriverManager.fillForm
+     */
+    protected void fill(Map<By, String> values) {
+        DriverManager.fillForm(values);
+    }
+    
+    /**
+     * Clears and types with real key events, for when the typing behaviour itself matters
+     */
+    protected void type(By locator, String value) {
+        with(locator, el -> {
+            el.clear();
+            el.sendKeys(value);
+            return null;
+        });
+    }
+    
+    protected void click(By locator) {
+        with(locator, el -> {
+            el.click();
+            return null;
+        });
+    }
+    
+    /**
+     * Clicks something that changes the route; cached handles belong to the old page afterwards
+     */
+    protected void clickAndNavigate(By locator, String expectedPath) {
+        click(locator);
+        invalidate();
+        Synchronizer.awaitRoute(expectedPath);
+        Synchronizer.awaitSettled();
+    }
+    
+    /**
+     * Forgets every cached element, called whenever the page changes underneath us
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+    
+    public String currentUrl() {
+        return driver().getCurrentUrl();
+    }
+}
@@ -0,0 +1,23 @@
+package com.merneats.pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * A single restaurant's menu and order summary
+ */
+public class DetailPage extends BasePage {
+    private static final By RESTAURANT_NAME = By.cssSelector("[data-testid='restaurant-name']");
+    
+    public DetailPage open(String restaurantId) {
+        load("/detail/" + restaurantId);
+        return this;
+    }
+    
+    public boolean isOpen() {
+        return currentUrl().contains("/detail/");
+    }
+    
+    public String getRestaurantName() {
+        return element(RESTAURANT_NAME).getText();
+    }
+}
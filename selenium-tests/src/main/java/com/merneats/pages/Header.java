@@ -0,0 +1,35 @@
+package com.merneats.pages;
+
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+
+/**
+ * The site header shared by every page, including the account dropdown
+ */
+public class Header extends BasePage {
+    private static final By USER_MENU = By.cssSelector("[data-testid='user-menu']");
+    private static final By USER_PROFILE_LINK = By.cssSelector("[data-testid='user-profile-link']");
+    private static final By MANAGE_RESTAURANT_LINK = By.cssSelector("[data-testid='manage-restaurant-link']");
+    
+    public boolean isLoggedInAs(String email) {
+        return all(USER_MENU).stream().anyMatch(menu -> menu.getText().contains(email));
+    }
+    
+    public Header openUserMenu() {
+        click(USER_MENU);
+        Synchronizer.awaitDomQuiet();
+        return this;
+    }
+    
+    public UserProfilePage goToUserProfile() {
+        openUserMenu();
+        clickAndNavigate(USER_PROFILE_LINK, "/user-profile");
+        return new UserProfilePage();
+    }
+    
+    public ManageRestaurantPage goToManageRestaurant() {
+        openUserMenu();
+        clickAndNavigate(MANAGE_RESTAURANT_LINK, "/manage-restaurant");
+        return new ManageRestaurantPage();
+    }
+}
@@ -0,0 +1,47 @@
+package com.merneats.pages;
+
+import com.merneats.utils.DriverManager;
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+
+/**
+ * The landing page with the city search bar
+ */
+public class HomePage extends BasePage {
+    private static final By HEADING = By.tagName("h1");
+    private static final By MAIN = By.tagName("main");
+    private static final By CITY_SEARCH = By.cssSelector("input[name='searchQuery']");
+    
+    public HomePage open() {
+        load("/");
+        return this;
+    }
+    
+    public String getTitle() {
+        return driver().getTitle();
+    }
+    
+    public boolean hasContent() {
+        return DriverManager.isAnyPresent(HEADING, MAIN);
+    }
+    
+    /**
+     * Types a city into the search bar and submits with Enter
+     */
+    public SearchPage searchFor(String city) {
+        with(CITY_SEARCH, input -> {
+            input.clear();
+            input.sendKeys(city);
+            input.sendKeys(Keys.RETURN);
+            return null;
+        });
+        invalidate();
+        Synchronizer.awaitRoute("/search");
+        return new SearchPage();
+    }
+    
+    public Header header() {
+        return new Header();
+    }
+}
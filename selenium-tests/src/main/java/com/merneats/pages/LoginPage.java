@@ -0,0 +1,41 @@
+package com.merneats.pages;
+
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+
+/**
+ * The /login form
+ */
+public class LoginPage extends BasePage {
+    private static final By EMAIL = By.id("email");
+    private static final By PASSWORD = By.id("password");
+    private static final By SUBMIT = By.cssSelector("form button[type='submit']");
+    
+    public LoginPage open() {
+        load("/login");
+        return this;
+    }
+    
+    public LoginPage enterCredentials(String email, String password) {
+        type(EMAIL, email);
+        type(PASSWORD, password);
+        return this;
+    }
+    
+    /**
+     * Submits the form and waits for the login request to finish, whatever its outcome
+     */
+    public void submit() {
+        click(SUBMIT);
+        invalidate();
+        Synchronizer.awaitSettled();
+    }
+    
+    public void login(String email, String password) {
+        enterCredentials(email, password).submit();
+    }
+    
+    public boolean isOnLoginPage() {
+        return currentUrl().contains("/login");
+    }
+}
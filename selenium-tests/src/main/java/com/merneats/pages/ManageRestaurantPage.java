@@ -0,0 +1,73 @@
+package com.merneats.pages;
+
+import com.merneats.utils.DriverManager;
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The /manage-restaurant form: details, cuisines, menu items and image
+ */
+public class ManageRestaurantPage extends BasePage {
+    private static final By RESTAURANT_NAME = By.cssSelector("input[name='restaurantName']");
+    private static final By CITY = By.cssSelector("input[name='city']");
+    private static final By COUNTRY = By.cssSelector("input[name='country']");
+    private static final By DELIVERY_PRICE = By.cssSelector("input[name='deliveryPrice']");
+    private static final By DELIVERY_TIME = By.cssSelector("input[name='estimatedDeliveryTime']");
+    private static final By ADD_MENU_ITEM = By.cssSelector("[data-testid='add-menu-item']");
+    // The last row of the menu item section, i.e. the one Add Menu Item just appended
+    private static final By LAST_MENU_ITEM_NAME = By.xpath(
+            "(//input[starts-with(@name, 'menuItems.') and substring(@name, string-length(@name) - 4) = '.name'])[last()]");
+    private static final By LAST_MENU_ITEM_PRICE = By.xpath(
+            "(//input[starts-with(@name, 'menuItems.') and substring(@name, string-length(@name) - 5) = '.price'])[last()]");
+    
+    public ManageRestaurantPage open() {
+        load("/manage-restaurant");
+        return this;
+    }
+    
+    public boolean isOpen() {
+        return currentUrl().contains("manage-restaurant");
+    }
+    
+    public boolean hasForm() {
+        return isPresent(RESTAURANT_NAME);
+    }
+    
+    public ManageRestaurantPage fillDetails(String name, String city, String country,
+                                            String deliveryPrice, String estimatedDeliveryTime) {
+        element(RESTAURANT_NAME);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(RESTAURANT_NAME, name);
+        values.put(CITY, city);
+        values.put(COUNTRY, country);
+        values.put(DELIVERY_PRICE, deliveryPrice);
+        values.put(DELIVERY_TIME, estimatedDeliveryTime);
+        fill(values);
+        return this;
+    }
+    
+    /**
+     * Appends a menu item row and fills it; returns false when the Add Menu Item button is missing
+     */
+    public boolean addMenuItem(String name, String price) {
+        if (!isPresent(ADD_MENU_ITEM)) {
+            return false;
+        }
+        
+        with(ADD_MENU_ITEM, button -> {
+            DriverManager.scrollToElement(button);
+            button.click();
+            return null;
+        });
+        Synchronizer.awaitDomQuiet();
+        
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(LAST_MENU_ITEM_NAME, name);
+        values.put(LAST_MENU_ITEM_PRICE, price);
+        fill(values);
+        return true;
+    }
+}
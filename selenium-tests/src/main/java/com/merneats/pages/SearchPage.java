@@ -0,0 +1,142 @@
+package com.merneats.pages;
+
+import com.merneats.utils.DriverManager;
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Search results for a city: cuisine filters, sort dropdown, result cards and pagination
+ */
+public class SearchPage extends BasePage {
+    private static final By RESULT_INFO = By.cssSelector("[data-testid='search-result-info']");
+    private static final By NO_RESULTS = By.cssSelector("[data-testid='no-results']");
+    private static final By RESULT_CARDS = By.cssSelector("[data-testid='search-result-card']");
+    private static final By CUISINE_CHECKBOXES = By.cssSelector("#cuisines-list input[type='checkbox']");
+    private static final By SORT_DROPDOWN = By.cssSelector("[data-testid='sort-dropdown']");
+    private static final By SORT_OPTIONS = By.cssSelector("[data-testid^='sort-option-']");
+    private static final By NEXT_PAGE = By.cssSelector("a[aria-label='Go to next page']");
+    
+    public SearchPage open(String city) {
+        load("/search/" + city);
+        return this;
+    }
+    
+    /**
+     * True once either the result summary or the empty-state message has rendered
+     */
+    public boolean hasResultsOrEmptyMessage() {
+        return DriverManager.isAnyPresent(RESULT_INFO, NO_RESULTS);
+    }
+    
+    public int resultCount() {
+        return all(RESULT_CARDS).size();
+    }
+    
+    /**
+     * Toggles the first cuisine filter and returns whether it ended up checked, or null if there are no filters
+     */
+    public Boolean toggleFirstCuisine() {
+        List<WebElement> filters = all(CUISINE_CHECKBOXES);
+        if (filters.isEmpty()) {
+            return null;
+        }
+        
+        // The checkbox itself is hidden behind its label, so click it through JavaScript
+        WebElement first = filters.get(0);
+        DriverManager.scrollToElement(first);
+        DriverManager.clickWithJS(first);
+        invalidate();
+        Synchronizer.awaitSettled();
+        return first.isSelected();
+    }
+    
+    /**
+     * Toggles the filter for a named cuisine, e.g. "Italian"; returns null when that filter is not shown
+     */
+    public Boolean toggleCuisine(String cuisine) {
+        By checkbox = By.id("cuisine_" + cuisine);
+        if (!isPresent(checkbox)) {
+            return null;
+        }
+        
+        WebElement filter = element(checkbox);
+        DriverManager.scrollToElement(filter);
+        DriverManager.clickWithJS(filter);
+        invalidate();
+        Synchronizer.awaitSettled();
+        return driver().findElement(checkbox).isSelected();
+    }
+    
+    /**
+     * Picks a sort option by its value, e.g. "deliveryPrice"; returns false when it is not offered
+     */
+    public boolean sortBy(String value) {
+        if (!isPresent(SORT_DROPDOWN)) {
+            return false;
+        }
+        
+        click(SORT_DROPDOWN);
+        Synchronizer.awaitDomQuiet();
+        
+        By option = By.cssSelector("[data-testid='sort-option-" + value + "']");
+        if (!isPresent(option)) {
+            return false;
+        }
+        click(option);
+        invalidate();
+        Synchronizer.awaitSettled();
+        return true;
+    }
+    
+    /**
+     * Picks a sort option by its position in the dropdown; returns false when the dropdown is missing
+     */
+    public boolean sortBy(int optionIndex) {
+        if (!isPresent(SORT_DROPDOWN)) {
+            return false;
+        }
+        
+        click(SORT_DROPDOWN);
+        Synchronizer.awaitDomQuiet();
+        
+        List<WebElement> options = all(SORT_OPTIONS);
+        if (options.size() <= optionIndex) {
+            return false;
+        }
+        options.get(optionIndex).click();
+        invalidate();
+        Synchronizer.awaitSettled();
+        return true;
+    }
+    
+    /**
+     * Opens the first result card, or returns null when the search found nothing
+     */
+    public DetailPage openFirstResult() {
+        List<WebElement> cards = all(RESULT_CARDS);
+        if (cards.isEmpty()) {
+            return null;
+        }
+        
+        DriverManager.scrollToElement(cards.get(0));
+        cards.get(0).click();
+        invalidate();
+        Synchronizer.awaitRoute("/detail/");
+        Synchronizer.awaitSettled();
+        return new DetailPage();
+    }
+    
+    public boolean hasNextPage() {
+        return isPresent(NEXT_PAGE);
+    }
+    
+    public SearchPage nextPage() {
+        click(NEXT_PAGE);
+        invalidate();
+        Synchronizer.awaitSettled();
+        return this;
+    }
+}
@@ -0,0 +1,47 @@
+package com.merneats.pages;
+
+import com.merneats.utils.Synchronizer;
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The /user-profile form
+ */
+public class UserProfilePage extends BasePage {
+    private static final By NAME = By.cssSelector("form input[name='name']");
+    private static final By ADDRESS = By.cssSelector("form input[name='addressLine1']");
+    private static final By CITY = By.cssSelector("form input[name='city']");
+    private static final By COUNTRY = By.cssSelector("form input[name='country']");
+    private static final By SAVE = By.cssSelector("form button[type='submit']");
+    
+    public UserProfilePage open() {
+        load("/user-profile");
+        return this;
+    }
+    
+    public boolean isOpen() {
+        return currentUrl().contains("user-profile");
+    }
+    
+    public boolean hasForm() {
+        return isPresent(NAME);
+    }
+    
+    public UserProfilePage fill(String name, String address, String city, String country) {
+        element(NAME);
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(NAME, name);
+        values.put(ADDRESS, address);
+        values.put(CITY, city);
+        values.put(COUNTRY, country);
+        fill(values);
+        return this;
+    }
+    
+    public void save() {
+        click(SAVE);
+        Synchronizer.awaitSettled();
+    }
+}
@@ -0,0 +1,335 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded stand-in for the Express API.
+ * In record mode it proxies every call to the real apiUrl and keeps the responses; in replay mode it serves
+ * them from the recordings file, optionally after an injected delay. While it runs, apiUrl points at the stub,
+ * so API logins and user provisioning go through it too. Build the frontend with VITE_API_BASE_URL set to the stub.
+ * <p>
+ * Calls are matched on the running test plus method, path and query. Repeated calls replay the recorded responses
+ * in order, repeating the last one, so a GET after a PUT sees the updated data. Scoping by test keeps replay
+ * correct when shards or impact selection run a subset in a different order; a call the test did not make while
+ * recording falls back to the first response recorded for that call in the whole run, which is saved alongside.
+ * Tests must run one at a time for the scope to be known.
+ * <p>
+ * Cookie values and Authorization headers are redacted before saving, since the stub never checks them.
+ */
+public class ApiStub {
+    // Headers HttpServer/HttpClient manage themselves or refuse to forward
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "host", "upgrade", "te", "trailer", "expect", "date", "from", "via", "warning",
+            "access-control-allow-origin", "access-control-allow-credentials", "vary");
+    
+    private static final String SUITE_SCOPE = "suite";
+    private static final String SCOPE_SEPARATOR = " :: ";
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static ApiStub running;
+    private static String previousApiUrl;
+    private static volatile String currentTest;
+    
+    private final String mode;
+    private final String upstream;
+    private final File recordingsFile;
+    private final Map<String, List<Map<String, Object>>> recordings = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    // METHOD path?query -> first response recorded for it in any scope, in recording order
+    private final Map<String, Map<String, Object>> fallbacks = new ConcurrentHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private HttpServer server;
+    
+    private ApiStub(String mode, String upstream, File recordingsFile) {
+        this.mode = mode;
+        this.upstream = upstream;
+        this.recordingsFile = recordingsFile;
+    }
+    
+    /**
+     * Starts the stub when apiStub.mode is record or replay and points apiUrl at it
+     */
+    public static synchronized void startIfEnabled() {
+        String mode = config.getApiStubMode();
+        if (running != null || "off".equals(mode)) {
+            return;
+        }
+        if (!"record".equals(mode) && !"replay".equals(mode)) {
+            throw new RuntimeException("Unknown apiStub.mode: " + mode + " (expected off, record or replay)");
+        }
+        String parallel = config.getParallelMode();
+        if (!"none".equals(parallel) && !"false".equals(parallel)) {
+            throw new RuntimeException("apiStub.mode=" + mode + " needs tests to run one at a time, but suite.parallel="
+                    + parallel + "; concurrent tests would get each other's responses");
+        }
+        
+        ApiStub stub = new ApiStub(mode, config.getApiUrl(), new File(config.getApiStubRecordings()));
+        if ("replay".equals(mode)) {
+            stub.load();
+        }
+        stub.start(config.getApiStubPort());
+        running = stub;
+        
+        previousApiUrl = System.getProperty("apiUrl");
+        System.setProperty("apiUrl", "http://localhost:" + stub.server.getAddress().getPort());
+        System.out.println("API stub (" + mode + ") listening on " + config.getApiUrl()
+                + ("record".equals(mode) ? ", proxying to " + stub.upstream : ""));
+    }
+    
+    /**
+     * Scopes the calls that follow to a test; null scopes them to the suite
+     */
+    public static void setCurrentTest(String testName) {
+        currentTest = testName;
+    }
+    
+    /**
+     * Stops the stub, saves recordings in record mode and restores apiUrl
+     */
+    public static synchronized void stopIfRunning() {
+        if (running == null) {
+            return;
+        }
+        running.server.stop(0);
+        if ("record".equals(running.mode)) {
+            running.save();
+        }
+        if (previousApiUrl == null) {
+            System.clearProperty("apiUrl");
+        } else {
+            System.setProperty("apiUrl", previousApiUrl);
+        }
+        running = null;
+    }
+    
+    private void start(int port) {
+        // Headers and body go out in separate writes; without TCP_NODELAY every response waits on a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start API stub on port " + port + ": " + e.getMessage(), e);
+        }
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                if ("record".equals(mode)) {
+                    proxy(exchange);
+                } else {
+                    replay(exchange);
+                }
+            } catch (Exception e) {
+                System.err.println("API stub error for " + key(exchange) + ": " + e.getMessage());
+                send(exchange, 502, Map.of(), ("{\"message\":\"API stub error\"}").getBytes(StandardCharsets.UTF_8));
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+    
+    private void proxy(HttpExchange exchange) throws IOException, InterruptedException {
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + exchange.getRequestURI()))
+                .timeout(Duration.ofSeconds(30))
+                .method(exchange.getRequestMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        Map<String, List<String>> headers = new TreeMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                headers.put(name, values);
+            }
+        });
+        
+        // Preflights carry no application data and are answered generically on replay
+        if (!"OPTIONS".equals(exchange.getRequestMethod())) {
+            Map<String, Object> recorded = new LinkedHashMap<>();
+            recorded.put("status", response.statusCode());
+            recorded.put("headers", redact(headers));
+            recorded.put("body", Base64.getEncoder().encodeToString(response.body()));
+            recordings.computeIfAbsent(scope() + SCOPE_SEPARATOR + key(exchange), k -> new CopyOnWriteArrayList<>()).add(recorded);
+            fallbacks.putIfAbsent(key(exchange), recorded);
+        }
+        send(exchange, response.statusCode(), headers, response.body());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void replay(HttpExchange exchange) throws IOException, InterruptedException {
+        exchange.getRequestBody().readAllBytes();
+        if ("OPTIONS".equals(exchange.getRequestMethod())) {
+            String requested = exchange.getRequestHeaders().getFirst("Access-Control-Request-Headers");
+            Map<String, List<String>> headers = new TreeMap<>();
+            headers.put("Access-Control-Allow-Methods", List.of("GET,HEAD,PUT,PATCH,POST,DELETE"));
+            if (requested != null) {
+                headers.put("Access-Control-Allow-Headers", List.of(requested));
+            }
+            send(exchange, 204, headers, new byte[0]);
+            return;
+        }
+        
+        long delay = config.getApiStubLatencyMillis();
+        int jitter = config.getApiStubLatencyJitterMillis();
+        if (jitter > 0) {
+            delay += ThreadLocalRandom.current().nextInt(jitter + 1);
+        }
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        
+        String key = key(exchange);
+        String scopedKey = scope() + SCOPE_SEPARATOR + key;
+        List<Map<String, Object>> responses = recordings.get(scopedKey);
+        Map<String, Object> recorded;
+        if (responses != null && !responses.isEmpty()) {
+            int index = Math.min(cursors.computeIfAbsent(scopedKey, k -> new AtomicInteger()).getAndIncrement(),
+                    responses.size() - 1);
+            recorded = responses.get(index);
+        } else {
+            recorded = fallbacks.get(key);
+        }
+        if (recorded == null) {
+            System.out.println("[" + Thread.currentThread().getId() + "] API stub has no recording for " + scopedKey);
+            send(exchange, 404, Map.of("Content-Type", List.of("application/json")),
+                    ("{\"message\":\"No recording for " + key + "\"}").getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        
+        send(exchange, ((Number) recorded.get("status")).intValue(),
+                (Map<String, List<String>>) recorded.get("headers"),
+                Base64.getDecoder().decode((String) recorded.get("body")));
+    }
+    
+    /**
+     * Writes a response; CORS headers are always rebuilt for the calling origin so credentialed requests work
+     */
+    private static void send(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        headers.forEach((name, values) -> exchange.getResponseHeaders().put(name, new ArrayList<>(values)));
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null) {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", origin);
+            exchange.getResponseHeaders().set("Access-Control-Allow-Credentials", "true");
+            exchange.getResponseHeaders().set("Vary", "Origin");
+        }
+        boolean noBody = body.length == 0 || status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    private static String scope() {
+        String test = currentTest;
+        return test != null ? test : SUITE_SCOPE;
+    }
+    
+    /**
+     * Copy of the response headers with cookie values and credentials replaced, keeping cookie names and attributes
+     */
+    private static Map<String, List<String>> redact(Map<String, List<String>> headers) {
+        Map<String, List<String>> redacted = new TreeMap<>();
+        headers.forEach((name, values) -> {
+            if ("authorization".equalsIgnoreCase(name)) {
+                return;
+            }
+            if ("set-cookie".equalsIgnoreCase(name)) {
+                List<String> cookies = new ArrayList<>();
+                for (String value : values) {
+                    cookies.add(value.replaceFirst("^([^=;]+)=[^;]*", "$1=redacted"));
+                }
+                redacted.put(name, cookies);
+            } else {
+                redacted.put(name, values);
+            }
+        });
+        return redacted;
+    }
+    
+    /**
+     * METHOD path?query, with query parameters sorted so equivalent URLs share a recording
+     */
+    private static String key(HttpExchange exchange) {
+        URI uri = exchange.getRequestURI();
+        String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return exchange.getRequestMethod() + " " + uri.getRawPath();
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return exchange.getRequestMethod() + " " + uri.getRawPath() + "?" + String.join("&", params);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!recordingsFile.exists()) {
+            throw new RuntimeException("No API recordings at " + recordingsFile + "; run once with -DapiStub.mode=record");
+        }
+        try {
+            Map<String, Object> stored = new Json().toType(
+                    Files.readString(recordingsFile.toPath(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            if (!(stored.get("recordings") instanceof Map) || !(stored.get("fallbacks") instanceof Map)) {
+                throw new RuntimeException("API recordings at " + recordingsFile
+                        + " use an older format; run once with -DapiStub.mode=record");
+            }
+            recordings.putAll((Map<String, List<Map<String, Object>>>) stored.get("recordings"));
+            fallbacks.putAll((Map<String, Map<String, Object>>) stored.get("fallbacks"));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read API recordings: " + e.getMessage(), e);
+        }
+    }
+    
+    private void save() {
+        recordingsFile.getAbsoluteFile().getParentFile().mkdirs();
+        try {
+            Map<String, Object> stored = new LinkedHashMap<>();
+            stored.put("recordings", new TreeMap<>(recordings));
+            stored.put("fallbacks", new TreeMap<>(fallbacks));
+            Files.writeString(recordingsFile.toPath(), new Json().toJson(stored), StandardCharsets.UTF_8);
+            System.out.println("Saved " + recordings.size() + " API recordings to " + recordingsFile);
+        } catch (IOException e) {
+            System.err.println("Failed to save API recordings: " + e.getMessage());
+        }
+    }
+}
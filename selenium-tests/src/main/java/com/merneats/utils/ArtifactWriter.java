@@ -0,0 +1,210 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes screenshots on background threads so the test thread only pays for the capture itself.
+ * The queue is bounded: when writers fall behind, submit() blocks instead of buffering without limit.
+ * Identical frames are stored once and later copies are hard-linked to the first file.
+ */
+public class ArtifactWriter {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final BlockingQueue<Artifact> queue = new ArrayBlockingQueue<>(config.getArtifactQueueCapacity());
+    private static final Map<String, CompletableFuture<Path>> written = new ConcurrentHashMap<>();
+    private static final Object idleLock = new Object();
+    private static int pending;
+    
+    static {
+        for (int i = 0; i < config.getArtifactWriterThreads(); i++) {
+            Thread writer = new Thread(ArtifactWriter::drain, "artifact-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+    
+    private ArtifactWriter() {
+    }
+    
+    /**
+     * Unique path for a new screenshot: test name, millisecond timestamp, worker thread and a sequence number
+     */
+    public static String screenshotPath(String testName) {
+        String extension = "jpg".equals(config.getScreenshotFormat()) ? ".jpg" : ".png";
+        return "screenshots/" + testName + "_" + LocalDateTime.now().format(TIMESTAMP)
+                + "_w" + Thread.currentThread().getId() + "_" + sequence.incrementAndGet() + extension;
+    }
+    
+    /**
+     * Queues PNG bytes to be written to path, blocking only while the queue is full
+     */
+    public static void submit(String path, byte[] png) {
+        synchronized (idleLock) {
+            pending++;
+        }
+        try {
+            queue.put(new Artifact(Path.of(path), png));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done();
+            System.err.println("Interrupted while queueing " + path);
+        }
+    }
+    
+    /**
+     * Waits until every queued artifact is on disk; call at suite end
+     */
+    public static void flush() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        synchronized (idleLock) {
+            while (pending > 0 && System.currentTimeMillis() < deadline) {
+                try {
+                    idleLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (pending > 0) {
+                System.err.println("Gave up waiting for " + pending + " screenshots to be written");
+            }
+        }
+    }
+    
+    private static void drain() {
+        while (true) {
+            Artifact artifact;
+            try {
+                artifact = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                write(artifact);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to write " + artifact.path + ": " + e.getMessage());
+            } finally {
+                done();
+            }
+        }
+    }
+    
+    private static void write(Artifact artifact) throws IOException {
+        Files.createDirectories(artifact.path.toAbsolutePath().getParent());
+        
+        // The first writer of a frame owns the future; duplicates wait for its file, even if another thread writes it
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> first = written.putIfAbsent(sha256(artifact.png), mine);
+        if (first != null) {
+            Path original = first.exceptionally(e -> null).join();
+            if (original != null) {
+                try {
+                    Files.createLink(artifact.path, original);
+                } catch (FileSystemException | UnsupportedOperationException e) {
+                    Files.copy(original, artifact.path);
+                }
+                System.out.println("Screenshot saved: " + artifact.path + " (same frame as " + original.getFileName() + ")");
+                return;
+            }
+        }
+        
+        try {
+            Files.write(artifact.path, encode(artifact.png));
+            mine.complete(artifact.path);
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        System.out.println("Screenshot saved: " + artifact.path);
+    }
+    
+    /**
+     * Returns the PNG unchanged unless downscaling or JPEG output is configured
+     */
+    private static byte[] encode(byte[] png) throws IOException {
+        double scale = config.getScreenshotScale();
+        boolean jpeg = "jpg".equals(config.getScreenshotFormat());
+        if (scale >= 1.0 && !jpeg) {
+            return png;
+        }
+        
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * Math.min(scale, 1.0)));
+        BufferedImage target = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!jpeg) {
+            ImageIO.write(target, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(config.getScreenshotJpegQuality());
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(target, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+    
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static void done() {
+        synchronized (idleLock) {
+            pending--;
+            idleLock.notifyAll();
+        }
+    }
+    
+    private static class Artifact {
+        private final Path path;
+        private final byte[] png;
+        
+        Artifact(Path path, byte[] png) {
+            this.path = path;
+            this.png = png;
+        }
+    }
+}
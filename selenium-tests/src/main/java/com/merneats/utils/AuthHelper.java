@@ -0,0 +1,153 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs in through /api/auth/login and injects the resulting authCookie into the browser,
+ * so tests that are not about the login form start authenticated without driving it
+ */
+public class AuthHelper {
+    private static final String AUTH_COOKIE = "authCookie";
+    private static final long EXPIRY_MARGIN_SECONDS = 60;
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<String, AuthToken> tokens = new ConcurrentHashMap<>();
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private AuthHelper() {
+    }
+
+    /**
+     * Puts a valid auth cookie for the user into the browser. Call before the first navigateTo.
+     */
+    public static void authenticate(WebDriver webDriver, TestUser user) {
+        AuthToken token = getToken(user);
+        URI api = URI.create(config.getApiUrl());
+
+        if (DevToolsSession.isSupported(webDriver)) {
+            // CDP can set a cookie for any URL without loading a page from it first
+            Map<String, Object> params = new HashMap<>();
+            params.put("name", AUTH_COOKIE);
+            params.put("value", token.value);
+            params.put("url", config.getApiUrl());
+            params.put("httpOnly", true);
+            params.put("secure", "https".equals(api.getScheme()));
+            params.put("sameSite", "Strict");
+            params.put("expires", token.expiresAtEpochSecond);
+            DevToolsSession.send(webDriver, "Network.setCookie", params);
+        } else {
+            webDriver.get(config.getApiUrl() + "/health");
+            webDriver.manage().addCookie(new Cookie.Builder(AUTH_COOKIE, token.value)
+                    .domain(api.getHost())
+                    .path("/")
+                    .isHttpOnly(true)
+                    .sameSite("Strict")
+                    .expiresOn(new Date(token.expiresAtEpochSecond * 1000))
+                    .build());
+        }
+    }
+
+    /**
+     * Drops the cached token so the next authenticate() logs in again, e.g. after a password change
+     */
+    public static void invalidate(TestUser user) {
+        tokens.remove(Thread.currentThread().getId() + ":" + user.getEmail());
+    }
+
+    /**
+     * Returns the cached token for the user on this worker, logging in again once it is about to expire
+     */
+    private static AuthToken getToken(TestUser user) {
+        String key = Thread.currentThread().getId() + ":" + user.getEmail();
+        AuthToken token = tokens.get(key);
+        long now = System.currentTimeMillis() / 1000;
+
+        if (token == null || token.expiresAtEpochSecond - EXPIRY_MARGIN_SECONDS <= now) {
+            token = login(user);
+            tokens.put(key, token);
+        }
+        return token;
+    }
+
+    private static AuthToken login(TestUser user) {
+        String body = new Json().toJson(Map.of(
+                "email", user.getEmail(),
+                "password", user.getPassword()));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.getApiUrl() + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("API login for " + user.getEmail() + " failed with status "
+                        + response.statusCode() + ": " + response.body());
+            }
+
+            for (String header : response.headers().allValues("set-cookie")) {
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    if (AUTH_COOKIE.equals(cookie.getName())) {
+                        return new AuthToken(cookie.getValue(), expiryOf(cookie));
+                    }
+                }
+            }
+            throw new RuntimeException("API login for " + user.getEmail() + " did not set " + AUTH_COOKIE);
+        } catch (IOException e) {
+            throw new RuntimeException("API login failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during API login", e);
+        }
+    }
+
+    /**
+     * Prefers the JWT's own exp claim, falling back to the cookie's Max-Age
+     */
+    private static long expiryOf(HttpCookie cookie) {
+        long now = System.currentTimeMillis() / 1000;
+        try {
+            String[] parts = cookie.getValue().split("\\.");
+            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            Map<String, Object> claims = new Json().toType(payload, Json.MAP_TYPE);
+            Object exp = claims.get("exp");
+            if (exp instanceof Number) {
+                return ((Number) exp).longValue();
+            }
+        } catch (RuntimeException e) {
+            // Not a readable JWT, use the cookie lifetime instead
+        }
+        return cookie.getMaxAge() > 0 ? now + cookie.getMaxAge() : now + 3600;
+    }
+
+    private static class AuthToken {
+        private final String value;
+        private final long expiresAtEpochSecond;
+
+        AuthToken(String value, long expiresAtEpochSecond) {
+            this.value = value;
+            this.expiresAtEpochSecond = expiresAtEpochSecond;
+        }
+    }
+}
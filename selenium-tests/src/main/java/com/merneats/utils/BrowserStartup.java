@@ -0,0 +1,171 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves chromedriver once per JVM and keeps a copy on disk keyed by the installed Chrome version,
+ * so later runs start without WebDriverManager touching the network. Also collects cold vs warm
+ * browser checkout times for the startup report.
+ */
+public class BrowserStartup {
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Pattern VERSION = Pattern.compile("(\\d+\\.\\d+\\.\\d+\\.\\d+)");
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final List<Long> coldMillis = new CopyOnWriteArrayList<>();
+    private static final List<Long> warmMillis = new CopyOnWriteArrayList<>();
+    private static volatile String driverPath;
+    private static long resolveMillis;
+    private static String resolvedFrom;
+    
+    private BrowserStartup() {
+    }
+    
+    /**
+     * Makes sure webdriver.chrome.driver points at a chromedriver matching the installed Chrome; cheap after the first call
+     */
+    public static String resolveDriver() {
+        if (driverPath == null) {
+            synchronized (BrowserStartup.class) {
+                if (driverPath == null) {
+                    long start = System.currentTimeMillis();
+                    driverPath = resolve();
+                    resolveMillis = System.currentTimeMillis() - start;
+                    System.setProperty(DRIVER_PROPERTY, driverPath);
+                    System.out.println("chromedriver " + resolvedFrom + " in " + resolveMillis + "ms: " + driverPath);
+                }
+            }
+        }
+        return driverPath;
+    }
+    
+    /**
+     * Records how long a test waited for its browser; cold means it had to launch one itself
+     */
+    public static void recordCheckout(boolean cold, long millis) {
+        (cold ? coldMillis : warmMillis).add(millis);
+    }
+    
+    /**
+     * Prints cold vs warm checkout times and writes target/startup-report.txt
+     */
+    public static void writeReport() {
+        if (coldMillis.isEmpty() && warmMillis.isEmpty()) {
+            return;
+        }
+        
+        File reportFile = new File("target/startup-report.txt");
+        reportFile.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(reportFile, StandardCharsets.UTF_8)) {
+            List<String> lines = new ArrayList<>();
+            lines.add("chromedriver resolution: " + resolveMillis + "ms (" + resolvedFrom + ")");
+            lines.add(String.format("%-6s %6s %8s %8s %8s", "Start", "Count", "avg ms", "p50 ms", "max ms"));
+            lines.add(row("cold", coldMillis));
+            lines.add(row("warm", warmMillis));
+            for (String line : lines) {
+                out.println(line);
+                System.out.println(line);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write startup report: " + e.getMessage());
+        }
+    }
+    
+    private static String row(String label, List<Long> samples) {
+        if (samples.isEmpty()) {
+            return String.format("%-6s %6d %8s %8s %8s", label, 0, "-", "-", "-");
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        long total = sorted.stream().mapToLong(Long::longValue).sum();
+        return String.format("%-6s %6d %8d %8d %8d", label, sorted.size(), total / sorted.size(),
+                sorted.get((sorted.size() - 1) / 2), sorted.get(sorted.size() - 1));
+    }
+    
+    private static String resolve() {
+        String configured = System.getProperty(DRIVER_PROPERTY);
+        if (configured != null && new File(configured).canExecute()) {
+            resolvedFrom = "configured";
+            return configured;
+        }
+        
+        Optional<String> chromeVersion = detectChromeVersion();
+        Path cached = chromeVersion.map(version -> Path.of(config.getDriverCacheDir(), version, driverFileName()))
+                .orElse(null);
+        if (cached != null && Files.isExecutable(cached)) {
+            resolvedFrom = "from cache for Chrome " + chromeVersion.get();
+            return cached.toString();
+        }
+        
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        chromeVersion.ifPresent(manager::browserVersion);
+        manager.setup();
+        String downloaded = manager.getDownloadedDriverPath();
+        resolvedFrom = "resolved by WebDriverManager";
+        
+        if (cached == null) {
+            return downloaded;
+        }
+        try {
+            Files.createDirectories(cached.getParent());
+            Path temp = Files.createTempFile(cached.getParent(), "chromedriver", ".tmp");
+            Files.copy(Path.of(downloaded), temp, StandardCopyOption.REPLACE_EXISTING);
+            temp.toFile().setExecutable(true);
+            // Another JVM may be filling the same cache entry; the rename keeps it from ever seeing a partial file
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return cached.toString();
+        } catch (IOException e) {
+            System.err.println("Could not cache chromedriver: " + e.getMessage());
+            return downloaded;
+        }
+    }
+    
+    /**
+     * Full version of the Chrome that will be launched, e.g. 131.0.6778.85, read from its --version output
+     */
+    private static Optional<String> detectChromeVersion() {
+        Optional<Path> browser = WebDriverManager.chromedriver().getBrowserPath();
+        if (browser.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Process process = new ProcessBuilder(browser.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .start();
+            // The version line fits in the pipe buffer, so waiting first cannot deadlock and a hung browser times out
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return Optional.empty();
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+    
+    private static String driverFileName() {
+        return System.getProperty("os.name").toLowerCase().contains("win") ? "chromedriver.exe" : "chromedriver";
+    }
+}
@@ -0,0 +1,121 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stops the suite from grinding through timeouts when the environment is down.
+ * Tests catch their own exceptions, so infrastructure failures are noticed where they happen (navigation, the
+ * browser session, API calls the page made) rather than from the test result alone.
+ * After circuitBreaker.threshold consecutive tests hit one, the circuit opens and the remaining tests are skipped.
+ */
+public class CircuitBreaker {
+    private static final List<String> NET_ERRORS = List.of("ERR_CONNECTION_REFUSED", "ERR_CONNECTION_RESET",
+            "ERR_NAME_NOT_RESOLVED", "ERR_ADDRESS_UNREACHABLE", "ERR_CONNECTION_TIMED_OUT",
+            "Timed out receiving message from renderer");
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<String> testFailure = new ThreadLocal<>();
+    private static final AtomicInteger consecutive = new AtomicInteger();
+    private static volatile String openReason;
+
+    private CircuitBreaker() {
+    }
+
+    /**
+     * Null while tests may run, otherwise why the circuit opened
+     */
+    public static String openReason() {
+        return openReason;
+    }
+
+    public static void startTest() {
+        testFailure.remove();
+    }
+
+    /**
+     * Notes an infrastructure failure for the current test if the exception is one
+     */
+    public static void check(Throwable error) {
+        if (error != null && testFailure.get() == null && isInfrastructureFailure(error)) {
+            testFailure.set(error.getClass().getSimpleName() + ": " + firstLine(error.getMessage()));
+        }
+    }
+
+    /**
+     * Notes a page that could not be reached, which Chrome reports as an error page rather than an exception
+     */
+    public static void checkNavigation(String url, String landedOn) {
+        if (landedOn != null && landedOn.startsWith("chrome-error://") && testFailure.get() == null) {
+            testFailure.set("Could not load " + url);
+        }
+    }
+
+    /**
+     * Ends the current test. Returns the reason if this test tripped the breaker, so the caller can fail it.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized String finishTest(Throwable error) {
+        check(error);
+        if (testFailure.get() == null) {
+            for (Map<String, Object> entry : NetworkRecorder.getEntries()) {
+                Map<String, Object> response = (Map<String, Object>) entry.get("response");
+                Object statusText = response != null ? response.get("statusText") : null;
+                if (entry.get("_endpoint") != null && statusText instanceof String && isNetError((String) statusText)) {
+                    testFailure.set(entry.get("_endpoint") + " failed: " + statusText);
+                    break;
+                }
+            }
+        }
+        
+        String failure = testFailure.get();
+        testFailure.remove();
+        if (failure == null) {
+            consecutive.set(0);
+            return null;
+        }
+        
+        int count = consecutive.incrementAndGet();
+        System.err.println("[" + Thread.currentThread().getId() + "] Infrastructure failure " + count + "/"
+                + config.getCircuitBreakerThreshold() + ": " + failure);
+        if (openReason == null && count >= config.getCircuitBreakerThreshold()) {
+            openReason = "Circuit breaker opened after " + count + " consecutive infrastructure failures, last: " + failure;
+            System.err.println(openReason);
+            return openReason;
+        }
+        return null;
+    }
+
+    static boolean isInfrastructureFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnreachableBrowserException
+                    || t instanceof SessionNotCreatedException || t instanceof NoSuchSessionException) {
+                return true;
+            }
+            if (t.getMessage() != null && isNetError(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNetError(String message) {
+        for (String netError : NET_ERRORS) {
+            if (message.contains(netError)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.split("\n", 2)[0];
+    }
+}
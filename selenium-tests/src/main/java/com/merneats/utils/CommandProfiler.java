@@ -0,0 +1,338 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Times every WebDriver command and splits each test's wall time into categories: browser startup, navigation,
+ * explicit waits, readiness waits, element lookups that found nothing, plain commands and the test's own code.
+ * Time is charged to the innermost frame for the flame graph and to the outermost category for the breakdown,
+ * so a findElement polled by an explicit wait counts as waiting.
+ * Writes target/profile/&lt;test&gt;.folded (collapsed stacks in microseconds) and a Prometheus text file at suite end.
+ */
+public class CommandProfiler {
+    public static final String STARTUP = "browserStartup";
+    public static final String NAVIGATION = "navigation";
+    public static final String EXPLICIT_WAIT = "explicitWait";
+    public static final String READINESS_WAIT = "readinessWait";
+    public static final String ELEMENT_MISS = "elementMiss";
+    public static final String COMMANDS = "commands";
+    public static final String TEST_CODE = "testCode";
+    private static final Set<String> CATEGORIES = Set.of(STARTUP, NAVIGATION, EXPLICIT_WAIT, READINESS_WAIT, ELEMENT_MISS);
+
+    // Accessors that only hand out another decorated object
+    private static final Set<String> IGNORED = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement", "getDevTools", "maybeGetDevTools", "equals", "hashCode", "toString");
+    private static final Set<String> TOP_LEVEL_TYPES = Set.of("WebDriver", "WebElement", "SearchContext",
+            "JavascriptExecutor", "TakesScreenshot");
+    private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<Profile> current = new ThreadLocal<>();
+    private static final Map<String, CommandStats> commandStats = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> categoryNanos = new ConcurrentHashMap<>();
+    private static final LongAdder testsProfiled = new LongAdder();
+    private static final WebDriverListener listener = new CommandListener();
+
+    private CommandProfiler() {
+    }
+
+    /**
+     * Wraps a driver so its commands are timed; returns it unchanged when commandProfiling is off
+     */
+    public static WebDriver decorate(WebDriver webDriver) {
+        if (!config.isCommandProfilingEnabled()) {
+            return webDriver;
+        }
+        return new EventFiringDecorator<>(listener).decorate(webDriver);
+    }
+
+    /**
+     * Explicit wait whose until() is charged to the explicitWait category
+     */
+    public static WebDriverWait newWait(WebDriver webDriver, Duration timeout, Duration polling) {
+        return new WebDriverWait(webDriver, timeout, polling) {
+            @Override
+            public <V> V until(Function<? super WebDriver, V> isTrue) {
+                enter(EXPLICIT_WAIT);
+                try {
+                    return super.until(isTrue);
+                } finally {
+                    exit();
+                }
+            }
+        };
+    }
+
+    /**
+     * Starts profiling the current thread's test
+     */
+    public static void start() {
+        current.set(config.isCommandProfilingEnabled() ? new Profile() : null);
+    }
+
+    /**
+     * Opens a frame on the current thread; every enter must be matched by exit in a finally block
+     */
+    public static void enter(String frame) {
+        Profile profile = current.get();
+        if (profile != null) {
+            profile.enter(frame);
+        }
+    }
+
+    public static void exit() {
+        Profile profile = current.get();
+        if (profile != null) {
+            profile.exit(null);
+        }
+    }
+
+    /**
+     * Charges time that was spent before the profile could see it, e.g. waiting for a browser
+     */
+    public static void add(String frame, long nanos) {
+        Profile profile = current.get();
+        if (profile != null) {
+            profile.add(frame, nanos);
+        }
+    }
+
+    /**
+     * Ends the current test's profile: writes its folded stacks, prints the breakdown and adds it to the suite totals
+     */
+    public static void finish(String testName) {
+        Profile profile = current.get();
+        current.remove();
+        if (profile == null) {
+            return;
+        }
+
+        long wall = System.nanoTime() - profile.started;
+        Map<String, Long> categories = profile.categories(wall);
+        categories.forEach((category, nanos) -> categoryNanos.computeIfAbsent(category, c -> new LongAdder()).add(nanos));
+        testsProfiled.increment();
+
+        File foldedFile = new File("target/profile/" + testName + ".folded");
+        foldedFile.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(foldedFile, StandardCharsets.UTF_8)) {
+            out.println(testName + " " + categories.get(TEST_CODE) / 1000);
+            profile.selfNanos.forEach((stack, nanos) -> out.println(testName + ";" + stack + " " + nanos / 1000));
+        } catch (IOException e) {
+            System.err.println("Failed to write profile: " + e.getMessage());
+        }
+
+        StringBuilder line = new StringBuilder("[" + Thread.currentThread().getId() + "] Time breakdown for " + testName
+                + " (" + wall / 1_000_000 + " ms):");
+        categories.forEach((category, nanos) -> {
+            if (nanos > 0) {
+                line.append(String.format(" %s %d ms (%.0f%%)", category, nanos / 1_000_000, 100.0 * nanos / wall));
+            }
+        });
+        System.out.println(line);
+    }
+
+    /**
+     * Writes suite-wide command latency histograms and per-category time to target/metrics/webdriver.prom
+     */
+    public static void writePrometheus() {
+        if (testsProfiled.sum() == 0) {
+            return;
+        }
+
+        File promFile = new File("target/metrics/webdriver.prom");
+        promFile.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(promFile, StandardCharsets.UTF_8)) {
+            out.println("# HELP webdriver_command_duration_seconds Wall time of WebDriver commands");
+            out.println("# TYPE webdriver_command_duration_seconds histogram");
+            for (Map.Entry<String, CommandStats> entry : commandStats.entrySet()) {
+                String label = "command=\"" + entry.getKey() + "\"";
+                CommandStats stats = entry.getValue();
+                long cumulative = 0;
+                for (int i = 0; i < BUCKETS.length; i++) {
+                    cumulative += stats.buckets[i].sum();
+                    out.println("webdriver_command_duration_seconds_bucket{" + label + ",le=\"" + BUCKETS[i] + "\"} " + cumulative);
+                }
+                out.println("webdriver_command_duration_seconds_bucket{" + label + ",le=\"+Inf\"} " + stats.count.sum());
+                out.println("webdriver_command_duration_seconds_sum{" + label + "} " + stats.nanos.sum() / 1e9);
+                out.println("webdriver_command_duration_seconds_count{" + label + "} " + stats.count.sum());
+            }
+
+            out.println("# HELP webdriver_command_errors_total WebDriver commands that threw");
+            out.println("# TYPE webdriver_command_errors_total counter");
+            commandStats.forEach((command, stats) ->
+                    out.println("webdriver_command_errors_total{command=\"" + command + "\"} " + stats.errors.sum()));
+
+            out.println("# HELP test_time_seconds_total Test wall time by category");
+            out.println("# TYPE test_time_seconds_total counter");
+            new TreeMap<>(categoryNanos).forEach((category, nanos) ->
+                    out.println("test_time_seconds_total{category=\"" + category + "\"} " + nanos.sum() / 1e9));
+
+            out.println("# HELP tests_profiled_total Tests with a time breakdown");
+            out.println("# TYPE tests_profiled_total counter");
+            out.println("tests_profiled_total " + testsProfiled.sum());
+        } catch (IOException e) {
+            System.err.println("Failed to write Prometheus metrics: " + e.getMessage());
+        }
+    }
+
+    private static String commandName(Method method) {
+        String owner = method.getDeclaringClass().getSimpleName();
+        return TOP_LEVEL_TYPES.contains(owner) ? method.getName() : owner + "." + method.getName();
+    }
+
+    private static void recordCommand(String command, long nanos, boolean error) {
+        CommandStats stats = commandStats.computeIfAbsent(command, c -> new CommandStats());
+        stats.count.increment();
+        stats.nanos.add(nanos);
+        if (error) {
+            stats.errors.increment();
+        }
+        double seconds = nanos / 1e9;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            if (seconds <= BUCKETS[i]) {
+                stats.buckets[i].increment();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Frame stack and self time per collapsed stack for one test
+     */
+    private static class Profile {
+        private final long started = System.nanoTime();
+        private final Deque<long[]> starts = new ArrayDeque<>();
+        private final Deque<String> frames = new ArrayDeque<>();
+        private final Map<String, Long> selfNanos = new LinkedHashMap<>();
+        private final Map<String, Long> categoryNanos = new LinkedHashMap<>();
+
+        void enter(String frame) {
+            frames.addLast(frame);
+            // [start, time spent in children]
+            starts.addLast(new long[] {System.nanoTime(), 0});
+        }
+
+        /**
+         * Closes the innermost frame, optionally renaming it (a findElement that found nothing becomes a miss)
+         */
+        long exit(String rename) {
+            if (frames.isEmpty()) {
+                return 0;
+            }
+            long[] start = starts.removeLast();
+            long total = System.nanoTime() - start[0];
+            String stack = String.join(";", frames);
+            String frame = frames.removeLast();
+            if (rename != null) {
+                stack = stack.substring(0, stack.length() - frame.length()) + rename;
+                frame = rename;
+            }
+            selfNanos.merge(stack, total - start[1], Long::sum);
+            if (!starts.isEmpty()) {
+                starts.peekLast()[1] += total;
+            } else {
+                categoryNanos.merge(CATEGORIES.contains(frame) ? frame : COMMANDS, total, Long::sum);
+            }
+            return total;
+        }
+
+        void add(String frame, long nanos) {
+            String stack = frames.isEmpty() ? frame : String.join(";", frames) + ";" + frame;
+            selfNanos.merge(stack, nanos, Long::sum);
+            if (!starts.isEmpty()) {
+                starts.peekLast()[1] += nanos;
+            } else {
+                categoryNanos.merge(CATEGORIES.contains(frame) ? frame : COMMANDS, nanos, Long::sum);
+            }
+        }
+
+        /**
+         * Time per category; whatever no frame covered was spent in the test's own code
+         */
+        Map<String, Long> categories(long wall) {
+            Map<String, Long> categories = new LinkedHashMap<>();
+            for (String category : List.of(STARTUP, NAVIGATION, EXPLICIT_WAIT, READINESS_WAIT, ELEMENT_MISS, COMMANDS)) {
+                categories.put(category, categoryNanos.getOrDefault(category, 0L));
+            }
+            long covered = 0;
+            for (long nanos : categories.values()) {
+                covered += nanos;
+            }
+            categories.put(TEST_CODE, Math.max(0, wall - covered));
+            return categories;
+        }
+    }
+
+    private static class CommandStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+
+        CommandStats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Opens a frame before each command and closes it afterwards; only sees calls made through decorated drivers
+     */
+    private static class CommandListener implements WebDriverListener {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (!IGNORED.contains(method.getName())) {
+                enter(commandName(method));
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            if (!IGNORED.contains(method.getName())) {
+                boolean miss = "findElements".equals(method.getName()) && result instanceof List && ((List<?>) result).isEmpty();
+                close(commandName(method), miss, false);
+            }
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            if (!IGNORED.contains(method.getName())) {
+                boolean miss = e.getCause() instanceof NoSuchElementException;
+                close(commandName(method), miss, true);
+            }
+        }
+
+        private void close(String command, boolean miss, boolean error) {
+            Profile profile = current.get();
+            long nanos = profile != null ? profile.exit(miss ? ELEMENT_MISS : null) : 0;
+            if (profile != null) {
+                recordCommand(command, nanos, error);
+            }
+        }
+    }
+}
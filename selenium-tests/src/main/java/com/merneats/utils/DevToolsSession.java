@@ -0,0 +1,55 @@
+package com.merneats.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Version-independent access to Chrome DevTools Protocol commands and events.
+ * Uses raw method names so the suite does not depend on a specific selenium-devtools-vNNN artifact.
+ */
+public class DevToolsSession {
+    private static final Map<WebDriver, DevTools> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private DevToolsSession() {
+    }
+
+    public static boolean isSupported(WebDriver webDriver) {
+        return webDriver instanceof HasDevTools;
+    }
+
+    /**
+     * Returns the DevTools connection for a driver, opening it on first use
+     */
+    public static DevTools of(WebDriver webDriver) {
+        return sessions.computeIfAbsent(webDriver, d -> {
+            DevTools devTools = ((HasDevTools) d).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            return devTools;
+        });
+    }
+
+    public static void send(WebDriver webDriver, String method, Map<String, Object> params) {
+        of(webDriver).send(new Command<Void>(method, params));
+    }
+
+    public static Map<String, Object> call(WebDriver webDriver, String method, Map<String, Object> params) {
+        return of(webDriver).send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+    }
+
+    /**
+     * Subscribes to a CDP event, receiving its params as a plain map
+     */
+    public static void on(WebDriver webDriver, String event, Consumer<Map<String, Object>> listener) {
+        of(webDriver).addListener(
+                new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), listener);
+    }
+}
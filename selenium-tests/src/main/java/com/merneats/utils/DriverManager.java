@@ -1,35 +1,94 @@
 package com.merneats.utils;
 
 import com.merneats.config.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * WebDriver manager utility class
  */
 public class DriverManager {
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static ThreadLocal<DriverPool.PooledDriver> driver = new ThreadLocal<>();
+    private static ThreadLocal<Long> startupMillis = ThreadLocal.withInitial(() -> 0L);
+    private static ThreadLocal<List<String>> screenshots = ThreadLocal.withInitial(ArrayList::new);
     private static ConfigManager config = ConfigManager.getInstance();
+    private static DriverPool pool = new DriverPool(
+            DriverManager::createDriver, config.getDriverPoolSize(), config.getDriverMaxReuse());
+    
+    // Returns [index, element] for the first locator that matches, evaluated entirely in the page
+    private static final String FIRST_MATCH_SCRIPT =
+            "var locators = arguments[0];" +
+            "for (var i = 0; i < locators.length; i++) {" +
+            "  var using = locators[i][0], value = locators[i][1], el = null;" +
+            "  if (using === 'css selector') { el = document.querySelector(value); }" +
+            "  else if (using === 'xpath') { el = document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; }" +
+            "  else if (using === 'link text') { el = Array.from(document.links).find(function(a) { return a.textContent.trim() === value; }); }" +
+            "  else if (using === 'partial link text') { el = Array.from(document.links).find(function(a) { return a.textContent.indexOf(value) >= 0; }); }" +
+            "  if (el) { return [i, el]; }" +
+            "}" +
+            "return null;";
+    
+    // Sets each [using, value, text] field through the native value setter so React sees the change, then reads
+    // every field back; returns [locator, expected, actual] for each one that is missing or did not keep its value
+    private static final String FILL_FORM_SCRIPT =
+            "var fields = arguments[0], failed = [];" +
+            "function find(using, value) {" +
+            "  if (using === 'xpath') { return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; }" +
+            "  return document.querySelector(value);" +
+            "}" +
+            "function read(el) { return el.type === 'checkbox' || el.type === 'radio' ? String(el.checked) : el.value; }" +
+            "var found = fields.map(function(f) { return find(f[0], f[1]); });" +
+            "found.forEach(function(el, i) {" +
+            "  if (!el) { return; }" +
+            "  var text = fields[i][2];" +
+            "  if (el.type === 'checkbox' || el.type === 'radio') {" +
+            "    if (String(el.checked) !== text) { el.click(); }" +
+            "    return;" +
+            "  }" +
+            "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype" +
+            "      : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;" +
+            "  el.focus();" +
+            "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text);" +
+            "  el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  el.blur();" +
+            "});" +
+            "found.forEach(function(el, i) {" +
+            "  var actual = el ? read(el) : null;" +
+            "  if (actual !== fields[i][2]) { failed.push([fields[i][1], fields[i][2], actual]); }" +
+            "});" +
+            "return failed;";
     
     public static WebDriver getDriver() {
         if (driver.get() == null) {
-            initializeDriver();
+            long start = System.currentTimeMillis();
+            DriverPool.PooledDriver pooled = pool.checkOut();
+            long waited = System.currentTimeMillis() - start;
+            startupMillis.set(waited);
+            CommandProfiler.add(CommandProfiler.STARTUP, waited * 1_000_000);
+            BrowserStartup.recordCheckout(pooled.isLaunchedOnCheckout(), waited);
+            driver.set(pooled);
         }
-        return driver.get();
+        return driver.get().getDriver();
+    }
+    
+    /**
+     * Time the current test waited for its browser: a full launch when cold, a pool checkout when warm
+     */
+    public static long getStartupMillis() {
+        return startupMillis.get();
     }
     
-    private static void initializeDriver() {
+    private static WebDriver createDriver() {
         WebDriver webDriver = null;
         
         try {
@@ -37,7 +96,7 @@ public class DriverManager {
             
             switch (browser) {
                 case "chrome":
-                    WebDriverManager.chromedriver().setup();
+                    BrowserStartup.resolveDriver();
                     ChromeOptions options = new ChromeOptions();
                     
                     if (config.isHeadless()) {
@@ -49,6 +108,7 @@ public class DriverManager {
                     options.addArguments("--disable-dev-shm-usage");
                     options.addArguments("--window-size=1920,1080");
                     options.addArguments("--remote-allow-origins=*");
+                    LeanMode.addChromeArguments(options);
                     
                     System.out.println("[" + Thread.currentThread().getId() + "] Starting Chrome");
                     
@@ -68,69 +128,192 @@ public class DriverManager {
             // Delete cookies for fresh session
             webDriver.manage().deleteAllCookies();
             
-            driver.set(webDriver);
+            return webDriver;
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize WebDriver: " + e.getMessage(), e);
         }
     }
     
-    public static void quitDriver() {
+    /**
+     * Hands the current thread's driver back to the pool with its state reset
+     */
+    public static void releaseDriver() {
         if (driver.get() != null) {
             try {
-                System.out.println("[" + Thread.currentThread().getId() + "] Quitting driver...");
-                driver.get().quit();
-            } catch (Exception e) {
-                System.err.println("[" + Thread.currentThread().getId() + "] Error quitting driver: " + e.getMessage());
+                pool.checkIn(driver.get());
             } finally {
                 driver.remove();
             }
-            
-            // Give Chrome time to fully release resources
+        }
+    }
+    
+    /**
+     * Quits the current thread's driver instead of returning it to the pool
+     */
+    public static void quitDriver() {
+        if (driver.get() != null) {
+            System.out.println("[" + Thread.currentThread().getId() + "] Quitting driver...");
             try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                pool.destroy(driver.get());
+            } finally {
+                driver.remove();
             }
         }
     }
     
+    /**
+     * Starts browsers in the background so the first tests find them warm; returns immediately
+     */
+    public static void prewarm() {
+        pool.prewarm(Math.min(config.getDriverPrewarm(), config.getDriverPoolSize()));
+    }
+    
+    /**
+     * Quits all idle pooled drivers, called once at the end of the suite
+     */
+    public static void shutdownPool() {
+        System.out.println("Shutting down driver pool (" + pool.idleCount() + " idle sessions)");
+        pool.shutdown();
+    }
+    
     // === ALL UTILITY METHODS ===
     
+    /**
+     * Loads a URL, waits for it to settle, then records its performance metrics
+     */
     public static void navigateTo(String url) {
-        getDriver().get(url);
-        waitForPageLoad();
+        LeanMode.measureSavings(url);
+        CommandProfiler.enter(CommandProfiler.NAVIGATION);
+        try {
+            getDriver().get(url);
+            CircuitBreaker.checkNavigation(url, getDriver().getCurrentUrl());
+            waitForPageLoad();
+            Synchronizer.awaitSettled();
+            PerformanceCapture.capture(url);
+            VisualDiff.checkPage(url);
+        } catch (RuntimeException e) {
+            CircuitBreaker.check(e);
+            throw e;
+        } finally {
+            CommandProfiler.exit();
+        }
     }
     
     public static void waitForPageLoad() {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(config.getExplicitWait()));
-        wait.until(webDriver -> 
+        getWait().until(webDriver -> 
             ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete")
         );
     }
     
+    /**
+     * Explicit wait reused by every waitFor* call on the current thread's driver
+     */
+    public static WebDriverWait getWait() {
+        getDriver();
+        return driver.get().getWait(Duration.ofSeconds(config.getExplicitWait()),
+                Duration.ofMillis(config.getWaitPollingMillis()));
+    }
+    
     public static WebElement waitForElement(By locator) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(config.getExplicitWait()));
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
     }
     
     public static WebElement waitForClickable(By locator) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(config.getExplicitWait()));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return getWait().until(ExpectedConditions.elementToBeClickable(locator));
     }
     
     public static WebElement waitForVisible(By locator) {
-        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(config.getExplicitWait()));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
     
+    /**
+     * Checks the DOM once, without waiting. Implicit wait is 0, so a miss costs one round trip.
+     */
     public static boolean isElementPresent(By locator) {
+        return !getDriver().findElements(locator).isEmpty();
+    }
+    
+    /**
+     * Polls for an element for at most the given time; use for expected-absent checks with a short bound
+     */
+    public static boolean probe(By locator, Duration timeout) {
+        CommandProfiler.enter(CommandProfiler.EXPLICIT_WAIT);
         try {
-            getDriver().findElement(locator);
+            new FluentWait<>(getDriver())
+                    .withTimeout(timeout)
+                    .pollingEvery(Duration.ofMillis(config.getWaitPollingMillis()))
+                    .until(webDriver -> !webDriver.findElements(locator).isEmpty());
             return true;
-        } catch (NoSuchElementException e) {
+        } catch (TimeoutException e) {
             return false;
+        } finally {
+            CommandProfiler.exit();
+        }
+    }
+    
+    /**
+     * Tries alternative locators in order in a single executeScript call and returns the first match, or null
+     */
+    public static WebElement findFirst(By... locators) {
+        List<List<Object>> params = new ArrayList<>();
+        for (By locator : locators) {
+            By.Remotable.Parameters remote = remoteParameters(locator);
+            params.add(List.of(remote.using(), remote.value()));
+        }
+        
+        Object result = ((JavascriptExecutor) getDriver()).executeScript(FIRST_MATCH_SCRIPT, params);
+        if (result instanceof List && ((List<?>) result).size() == 2) {
+            return (WebElement) ((List<?>) result).get(1);
+        }
+        return null;
+    }
+    
+    public static boolean isAnyPresent(By... locators) {
+        return findFirst(locators) != null;
+    }
+    
+    /**
+     * Fills a whole form in one executeScript call: each value goes through the native setter followed by the
+     * input/change events react-hook-form listens for, and every field is read back in the same call.
+     * Checkboxes take "true" or "false". Use sendKeys instead when the typing itself is under test.
+     */
+    public static void fillForm(Map<By, String> values) {
+        List<List<Object>> fields = new ArrayList<>();
+        for (Map.Entry<By, String> field : values.entrySet()) {
+            By.Remotable.Parameters remote = remoteParameters(field.getKey());
+            if (!"css selector".equals(remote.using()) && !"xpath".equals(remote.using())) {
+                throw new IllegalArgumentException("Form fields need a CSS or XPath locator: " + field.getKey());
+            }
+            fields.add(List.of(remote.using(), remote.value(), field.getValue()));
+        }
+        
+        Object failed = ((JavascriptExecutor) getDriver()).executeScript(FILL_FORM_SCRIPT, fields);
+        if (failed instanceof List && !((List<?>) failed).isEmpty()) {
+            StringBuilder message = new StringBuilder("Form fields did not take their values:");
+            for (Object field : (List<?>) failed) {
+                List<?> f = (List<?>) field;
+                message.append(f.get(2) == null ? " " + f.get(0) + " not found;"
+                        : " " + f.get(0) + " expected '" + f.get(1) + "' but was '" + f.get(2) + "';");
+            }
+            throw new RuntimeException(message.toString());
+        }
+    }
+    
+    private static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the page: " + locator);
         }
+        return ((By.Remotable) locator).getRemoteParameters();
+    }
+    
+    /**
+     * Screenshots taken on the current thread since the last call, for the test report
+     */
+    public static List<String> drainScreenshots() {
+        List<String> taken = screenshots.get();
+        screenshots.remove();
+        return taken;
     }
     
     public static void scrollToElement(WebElement element) {
@@ -141,27 +324,17 @@ public class DriverManager {
         ((JavascriptExecutor) getDriver()).executeScript("arguments[0].click();", element);
     }
     
+    /**
+     * Captures the page and hands the bytes to the background ArtifactWriter; returns the path it will be written to
+     */
     public static String takeScreenshot(String testName) {
         try {
-            TakesScreenshot ts = (TakesScreenshot) getDriver();
-            File source = ts.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            
-            // Ensure screenshots directory exists
-            File screenshotsDir = new File("screenshots");
-            if (!screenshotsDir.exists()) {
-                screenshotsDir.mkdirs();
-            }
-            
-            String screenshotPath = "screenshots/" + testName + "_" + timestamp + ".png";
-            File destination = new File(screenshotPath);
-            
-            FileUtils.copyFile(source, destination);
-            System.out.println("Screenshot saved: " + screenshotPath);
-            
+            byte[] png = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.BYTES);
+            String screenshotPath = ArtifactWriter.screenshotPath(testName);
+            ArtifactWriter.submit(screenshotPath, png);
+            screenshots.get().add(screenshotPath);
             return screenshotPath;
-        } catch (IOException e) {
+        } catch (WebDriverException e) {
             System.err.println("Failed to capture screenshot: " + e.getMessage());
             return null;
         }
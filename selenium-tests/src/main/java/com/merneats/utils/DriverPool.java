@@ -0,0 +1,232 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions that are checked out per test and reset on check-in
+ */
+public class DriverPool {
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Supplier<WebDriver> factory;
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final int maxIdle;
+    private final int maxReuse;
+    private final AtomicInteger warming = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public DriverPool(Supplier<WebDriver> factory, int maxIdle, int maxReuse) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.maxReuse = maxReuse;
+    }
+
+    /**
+     * Takes a healthy idle session, or starts a new one if none is available
+     */
+    public PooledDriver checkOut() {
+        PooledDriver pooled;
+        while ((pooled = nextIdle()) != null) {
+            if (isHealthy(pooled)) {
+                pooled.uses++;
+                pooled.launchedOnCheckout = false;
+                return pooled;
+            }
+            System.out.println("[" + Thread.currentThread().getId() + "] Evicting crashed Chrome session");
+            destroy(pooled);
+        }
+
+        pooled = new PooledDriver(factory.get());
+        pooled.uses++;
+        pooled.launchedOnCheckout = true;
+        return pooled;
+    }
+
+    /**
+     * Starts up to count browsers on background threads and adds them to the idle pool as they come up
+     */
+    public void prewarm(int count) {
+        int toStart = Math.min(count, maxIdle - idle.size() - warming.get());
+        for (int i = 0; i < toStart; i++) {
+            warming.incrementAndGet();
+            Thread warmer = new Thread(() -> {
+                try {
+                    idle.offerLast(new PooledDriver(factory.get()));
+                } catch (RuntimeException e) {
+                    System.err.println("Pre-warming a browser failed: " + e.getMessage());
+                } finally {
+                    warming.decrementAndGet();
+                }
+            }, "driver-prewarm-" + i);
+            warmer.setDaemon(true);
+            warmer.start();
+        }
+    }
+
+    /**
+     * Takes an idle session, waiting for one that is already starting if there are enough of them for this caller
+     */
+    private PooledDriver nextIdle() {
+        PooledDriver pooled = idle.pollFirst();
+        if (pooled != null) {
+            return pooled;
+        }
+        int position = waiting.incrementAndGet();
+        try {
+            while (pooled == null && warming.get() >= position) {
+                pooled = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+            }
+            return pooled != null ? pooled : idle.pollFirst();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a session to the pool, or quits it when it is worn out or cannot be reset
+     */
+    public void checkIn(PooledDriver pooled) {
+        if (pooled.uses >= maxReuse || idle.size() >= maxIdle) {
+            destroy(pooled);
+            return;
+        }
+
+        try {
+            reset(pooled.driver);
+            idle.offerFirst(pooled);
+        } catch (Exception e) {
+            System.err.println("[" + Thread.currentThread().getId() + "] Could not reset driver, evicting: " + e.getMessage());
+            destroy(pooled);
+        }
+    }
+
+    public void destroy(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (Exception e) {
+            System.err.println("[" + Thread.currentThread().getId() + "] Error quitting driver: " + e.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        // Let browsers that are still starting come up, so they are quit rather than leaked
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        while (warming.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            return !pooled.driver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void reset(WebDriver webDriver) {
+        // Close every tab except the first one
+        List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            webDriver.switchTo().window(handles.get(i));
+            webDriver.close();
+        }
+        webDriver.switchTo().window(handles.get(0));
+
+        // Storage is per origin, so clear it while the app page is still loaded
+        String currentUrl = webDriver.getCurrentUrl();
+        if (currentUrl != null && currentUrl.startsWith("http")) {
+            ((JavascriptExecutor) webDriver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+
+        if (webDriver instanceof ChromiumDriver) {
+            ChromiumDriver chromium = (ChromiumDriver) webDriver;
+            chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            chromium.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                    "origin", config.getBaseUrl(),
+                    "storageTypes", "local_storage,indexeddb,cache_storage,service_workers"));
+        } else {
+            webDriver.manage().deleteAllCookies();
+        }
+
+        webDriver.manage().timeouts()
+                .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+        webDriver.manage().timeouts()
+                .pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
+        webDriver.get("about:blank");
+    }
+
+    /**
+     * A browser session together with the number of tests it has served
+     */
+    public static class PooledDriver {
+        private final WebDriver driver;
+        private final WebDriver decorated;
+        private int uses;
+        private boolean launchedOnCheckout;
+        private WebDriverWait wait;
+
+        PooledDriver(WebDriver driver) {
+            this.driver = driver;
+            this.decorated = CommandProfiler.decorate(driver);
+        }
+
+        /**
+         * The session as tests see it, with command profiling applied; the pool itself works on the raw driver
+         */
+        public WebDriver getDriver() {
+            return decorated;
+        }
+
+        /**
+         * Lazily built wait bound to this session; only the thread holding the session uses it
+         */
+        public WebDriverWait getWait(Duration timeout, Duration polling) {
+            if (wait == null) {
+                wait = CommandProfiler.newWait(decorated, timeout, polling);
+            }
+            return wait;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+
+        /**
+         * True when the browser was started for this checkout rather than taken warm from the pool
+         */
+        public boolean isLaunchedOnCheckout() {
+            return launchedOnCheckout;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lean page loads: images, media and fonts are failed through CDP Fetch interception, analytics URLs are blocked
+ * with Network.setBlockedURLs, and CSS animations and transitions can be switched off.
+ * Settings are applied per test on the pooled session, so a test that needs full visuals can opt out.
+ * With lean.measureSavings on, the first lean visit to each route is also loaded in full once, to report the time
+ * and bytes saved.
+ */
+public class LeanMode {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<WebDriver, State> states = Collections.synchronizedMap(new WeakHashMap<>());
+    // route -> [full ms, lean ms, full bytes, lean bytes, blocked requests]
+    private static final Map<String, long[]> savings = new ConcurrentSkipListMap<>();
+
+    private static final String NO_ANIMATIONS_SCRIPT =
+            "(function() {" +
+            "  var css = '*, *::before, *::after { animation: none !important; transition: none !important;" +
+            "    caret-color: transparent !important; scroll-behavior: auto !important; }';" +
+            "  function add() { var s = document.createElement('style'); s.textContent = css;" +
+            "    (document.head || document.documentElement).appendChild(s); }" +
+            "  if (document.documentElement) { add(); } else { document.addEventListener('DOMContentLoaded', add); }" +
+            "})();";
+
+    private LeanMode() {
+    }
+
+    /**
+     * Chrome flags for lean sessions; they only cut background traffic, so they are safe for opted-out tests too
+     */
+    public static void addChromeArguments(ChromeOptions options) {
+        if (config.isLeanMode()) {
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-extensions");
+            options.addArguments("--mute-audio");
+        }
+    }
+
+    /**
+     * Switches blocking on or off for the current driver; a no-op when it is already in that state
+     */
+    public static void apply(boolean enabled) {
+        WebDriver webDriver = DriverManager.getDriver();
+        if (!DevToolsSession.isSupported(webDriver)) {
+            return;
+        }
+        State state = states.computeIfAbsent(webDriver, State::new);
+        if (state.active == enabled) {
+            return;
+        }
+
+        if (enabled) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : config.getLeanBlockedTypes()) {
+                patterns.add(Map.of("resourceType", type, "requestStage", "Request"));
+            }
+            DevToolsSession.send(webDriver, "Fetch.enable", Map.of("patterns", patterns));
+            DevToolsSession.send(webDriver, "Network.setBlockedURLs", Map.of("urls", config.getLeanBlockedUrls()));
+            if (config.isLeanDisableAnimations()) {
+                state.animationScript = (String) DevToolsSession.call(webDriver, "Page.addScriptToEvaluateOnNewDocument",
+                        Map.of("source", NO_ANIMATIONS_SCRIPT)).get("identifier");
+            }
+        } else {
+            DevToolsSession.send(webDriver, "Fetch.disable", Map.of());
+            DevToolsSession.send(webDriver, "Network.setBlockedURLs", Map.of("urls", List.of()));
+            if (state.animationScript != null) {
+                DevToolsSession.send(webDriver, "Page.removeScriptToEvaluateOnNewDocument",
+                        Map.of("identifier", state.animationScript));
+                state.animationScript = null;
+            }
+        }
+        state.active = enabled;
+    }
+
+    /**
+     * Loads a route in full and then lean, each from a cold cache, the first time it is visited in lean mode.
+     * A failed measurement is logged and never fails the test.
+     */
+    public static void measureSavings(String url) {
+        WebDriver webDriver = DriverManager.getDriver();
+        State state = states.get(webDriver);
+        String route = PerformanceCapture.routeOf(url);
+        if (state == null || !state.active || !config.isLeanMeasureSavings()
+                || !url.startsWith(config.getBaseUrl()) || savings.putIfAbsent(route, new long[5]) != null) {
+            return;
+        }
+
+        CommandProfiler.enter("leanCalibration");
+        try {
+            apply(false);
+            long[] full = load(webDriver, state, url);
+            apply(true);
+            long[] lean = load(webDriver, state, url);
+            savings.put(route, new long[] {full[0], lean[0], full[1], lean[1], lean[2]});
+        } catch (RuntimeException e) {
+            savings.remove(route);
+            apply(true);
+            System.err.println("[" + Thread.currentThread().getId() + "] Could not measure lean savings on " + route + ": " + e.getMessage());
+        } finally {
+            CommandProfiler.exit();
+        }
+    }
+
+    /**
+     * Prints time and bytes saved per route and writes target/lean-report.txt
+     */
+    public static void writeReport() {
+        if (savings.isEmpty()) {
+            return;
+        }
+
+        File reportFile = new File("target/lean-report.txt");
+        reportFile.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(reportFile)) {
+            String header = String.format("%-22s %9s %9s %9s %11s %11s %11s %8s", "Route",
+                    "full ms", "lean ms", "saved ms", "full KB", "lean KB", "saved KB", "blocked");
+            out.println(header);
+            System.out.println(header);
+            for (Map.Entry<String, long[]> entry : savings.entrySet()) {
+                long[] s = entry.getValue();
+                String line = String.format("%-22s %9d %9d %9d %11d %11d %11d %8d", entry.getKey(),
+                        s[0], s[1], s[0] - s[1], s[2] / 1024, s[3] / 1024, (s[2] - s[3]) / 1024, s[4]);
+                out.println(line);
+                System.out.println(line);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write lean report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * [wall ms until settled, bytes received, requests blocked]
+     */
+    private static long[] load(WebDriver webDriver, State state, String url) {
+        DevToolsSession.send(webDriver, "Network.clearBrowserCache", Map.of());
+        webDriver.get("about:blank");
+        state.bytes.set(0);
+        state.blocked.set(0);
+
+        long start = System.nanoTime();
+        webDriver.get(url);
+        DriverManager.waitForPageLoad();
+        Synchronizer.awaitSettled();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new long[] {millis, state.bytes.get(), state.blocked.get()};
+    }
+
+    /**
+     * Per-session blocking state and counters; CDP listeners are registered once per browser
+     */
+    private static class State {
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicInteger blocked = new AtomicInteger();
+        private volatile boolean active;
+        private String animationScript;
+
+        State(WebDriver webDriver) {
+            DevTools devTools = DevToolsSession.of(webDriver);
+            DevToolsSession.send(webDriver, "Network.enable", Map.of());
+            DevToolsSession.on(webDriver, "Network.loadingFinished", params -> {
+                Object length = params.get("encodedDataLength");
+                if (length instanceof Number) {
+                    bytes.addAndGet(((Number) length).longValue());
+                }
+            });
+            // Only the blocked resource types are paused, so every paused request is failed
+            DevToolsSession.on(webDriver, "Fetch.requestPaused", params -> {
+                if (active) {
+                    blocked.incrementAndGet();
+                    devTools.send(new Command<Void>("Fetch.failRequest",
+                            Map.of("requestId", params.get("requestId"), "errorReason", "BlockedByClient")));
+                } else {
+                    devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", params.get("requestId"))));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only CSV history of test metrics, used as a rolling baseline for regression detection.
+ * Rows are runId,timestamp,test,route,metric,value; the file lives outside target/ so it survives mvn clean.
+ */
+public class MetricsStore {
+    public static final String RUN_ID = System.getProperty("runId", Long.toString(System.currentTimeMillis(), 36));
+    private static final String HEADER = "runId,timestamp,test,route,metric,value";
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static Map<String, List<Double>> history;
+
+    private MetricsStore() {
+    }
+
+    /**
+     * Appends one test's metrics, keyed by route and metric name, to the store
+     */
+    public static synchronized void append(String testName, Map<String, Map<String, Double>> metricsByRoute) {
+        File file = new File(config.getMetricsStorePath());
+        boolean isNew = !file.exists();
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        long now = System.currentTimeMillis();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8, true))) {
+            if (isNew) {
+                out.println(HEADER);
+            }
+            for (Map.Entry<String, Map<String, Double>> route : metricsByRoute.entrySet()) {
+                for (Map.Entry<String, Double> metric : route.getValue().entrySet()) {
+                    out.println(String.join(",", RUN_ID, Long.toString(now), clean(testName),
+                            clean(route.getKey()), clean(metric.getKey()), Double.toString(metric.getValue())));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to append to metrics store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Values from the last N previous runs for a test/route/metric, oldest first.
+     * History is read once per JVM, so rows from the current run never become part of its own baseline.
+     */
+    public static synchronized List<Double> baseline(String testName, String route, String metric) {
+        if (history == null) {
+            history = load();
+        }
+        List<Double> values = history.getOrDefault(key(clean(testName), clean(route), clean(metric)), List.of());
+        int window = config.getBaselineWindow();
+        return values.subList(Math.max(0, values.size() - window), values.size());
+    }
+
+    /**
+     * Compares each metric with its baseline and returns a description of every significant regression.
+     * A value regresses when it exceeds median + k * 1.4826 * MAD and is also above the minimum relative change.
+     */
+    public static List<String> findRegressions(String testName, Map<String, Map<String, Double>> metricsByRoute) {
+        List<String> regressions = new ArrayList<>();
+        double k = config.getRegressionThreshold();
+        double minRelative = config.getRegressionMinRelativeChange();
+
+        for (Map.Entry<String, Map<String, Double>> route : metricsByRoute.entrySet()) {
+            for (Map.Entry<String, Double> metric : route.getValue().entrySet()) {
+                List<Double> previous = baseline(testName, route.getKey(), metric.getKey());
+                if (previous.size() < config.getBaselineMinRuns()) {
+                    continue;
+                }
+
+                double median = median(previous);
+                List<Double> deviations = new ArrayList<>();
+                for (double value : previous) {
+                    deviations.add(Math.abs(value - median));
+                }
+                double mad = median(deviations);
+                double value = metric.getValue();
+                double limit = median + k * 1.4826 * mad;
+
+                if (value > limit && value > median * (1 + minRelative)) {
+                    regressions.add(String.format("%s %s = %.1f (baseline median %.1f, MAD %.1f over %d runs)",
+                            route.getKey(), metric.getKey(), value, median, mad, previous.size()));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int mid = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(mid) : (sorted.get(mid - 1) + sorted.get(mid)) / 2;
+    }
+
+    private static Map<String, List<Double>> load() {
+        Map<String, List<Double>> loaded = new HashMap<>();
+        File file = new File(config.getMetricsStorePath());
+        if (!file.exists()) {
+            return loaded;
+        }
+
+        // One value per run and key: the last row written wins
+        Map<String, LinkedHashMap<String, Double>> byRun = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] cols = line.split(",");
+                if (cols.length != 6 || HEADER.startsWith(cols[0] + ",")) {
+                    continue;
+                }
+                try {
+                    byRun.computeIfAbsent(key(cols[2], cols[3], cols[4]), k -> new LinkedHashMap<>())
+                            .put(cols[0], Double.parseDouble(cols[5]));
+                } catch (NumberFormatException e) {
+                    // Skip a corrupt row rather than losing the whole history
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read metrics store: " + e.getMessage());
+        }
+
+        byRun.forEach((key, runs) -> loaded.put(key, new ArrayList<>(runs.values())));
+        return loaded;
+    }
+
+    private static String key(String testName, String route, String metric) {
+        return testName + "|" + route + "|" + metric;
+    }
+
+    private static String clean(String value) {
+        return value.replace(',', ';').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,300 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every request the browser makes through CDP Network events.
+ * Each test's traffic is exported as a HAR, and /api calls feed a suite-wide per-endpoint latency table.
+ * Page events also record every URL the main frame showed, including client-side route changes.
+ */
+public class NetworkRecorder {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<WebDriver, Recorder> recorders = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, List<long[]>> endpointStats = new ConcurrentSkipListMap<>();
+
+    private NetworkRecorder() {
+    }
+
+    /**
+     * Starts a fresh recording on the current driver
+     */
+    public static void attach() {
+        WebDriver webDriver = DriverManager.getDriver();
+        if (config.isNetworkCaptureEnabled() && DevToolsSession.isSupported(webDriver)) {
+            recorders.computeIfAbsent(webDriver, Recorder::new).clear();
+        }
+    }
+
+    /**
+     * Completed requests recorded on the current driver since the last attach()
+     */
+    public static List<Map<String, Object>> getEntries() {
+        Recorder recorder = recorders.get(DriverManager.getDriver());
+        return recorder == null ? List.of() : recorder.completed;
+    }
+
+    /**
+     * URLs the main frame visited since the last attach(), by full loads and by history pushes alike
+     */
+    public static List<String> getVisitedUrls() {
+        Recorder recorder = recorders.get(DriverManager.getDriver());
+        return recorder == null ? List.of() : recorder.visitedUrls;
+    }
+
+    /**
+     * Most recent completed request to an endpoint (as named by endpointOf), or null if there was none
+     */
+    public static Map<String, Object> lastEntryFor(String endpoint) {
+        List<Map<String, Object>> entries = getEntries();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (endpoint.equals(entries.get(i).get("_endpoint"))) {
+                return entries.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes target/network/&lt;testName&gt;.har and adds the test's API calls to the latency table
+     */
+    public static void writeHar(String testName) {
+        List<Map<String, Object>> entries = getEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        for (Map<String, Object> entry : entries) {
+            String endpoint = (String) entry.get("_endpoint");
+            if (endpoint != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> response = (Map<String, Object>) entry.get("response");
+                long time = Math.round(((Number) entry.get("time")).doubleValue());
+                long bytes = ((Number) response.get("_transferSize")).longValue();
+                endpointStats.computeIfAbsent(endpoint, k -> new CopyOnWriteArrayList<>()).add(new long[] {time, bytes});
+            }
+        }
+
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "merneats-selenium-tests", "version", "1.0"));
+        log.put("entries", entries);
+
+        File harFile = new File("target/network/" + testName + ".har");
+        harFile.getParentFile().mkdirs();
+        try {
+            Files.writeString(harFile.toPath(), new Json().toJson(Map.of("log", log)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write HAR: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints p50/p95/max latency and mean transfer size per API endpoint, and writes target/network/api-latency.txt
+     */
+    public static void writeLatencyTable() {
+        if (endpointStats.isEmpty()) {
+            return;
+        }
+
+        File tableFile = new File("target/network/api-latency.txt");
+        tableFile.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(tableFile)) {
+            String header = String.format("%-45s %6s %8s %8s %8s %12s", "Endpoint", "Calls", "p50 ms", "p95 ms", "max ms", "avg bytes");
+            out.println(header);
+            System.out.println(header);
+
+            for (Map.Entry<String, List<long[]>> stat : endpointStats.entrySet()) {
+                List<Long> times = new ArrayList<>();
+                long totalBytes = 0;
+                for (long[] sample : stat.getValue()) {
+                    times.add(sample[0]);
+                    totalBytes += sample[1];
+                }
+                Collections.sort(times);
+                String line = String.format("%-45s %6d %8d %8d %8d %12d", stat.getKey(), times.size(),
+                        percentile(times, 50), percentile(times, 95), times.get(times.size() - 1),
+                        totalBytes / times.size());
+                out.println(line);
+                System.out.println(line);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write API latency table: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Collapses ids and city names in API paths, e.g. GET /api/restaurant/search/London -> GET /api/restaurant/search/:city
+     */
+    public static String endpointOf(String method, String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (path == null || !path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.startsWith("/api/restaurant/search/")) {
+            path = "/api/restaurant/search/:city";
+        } else if (path.matches("/api/restaurant/[^/]+")) {
+            path = "/api/restaurant/:id";
+        }
+        return method + " " + path;
+    }
+
+    static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static double num(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    private static double phase(Map<String, Object> timing, String start, String end) {
+        double s = num(timing.get(start));
+        double e = num(timing.get(end));
+        return s >= 0 && e >= 0 ? e - s : -1;
+    }
+
+    /**
+     * Per-driver listener state; CDP events for one request are stitched together by requestId
+     */
+    private static class Recorder {
+        private final Map<Object, Map<String, Object>> requests = new ConcurrentHashMap<>();
+        private final Map<Object, Map<String, Object>> responses = new ConcurrentHashMap<>();
+        private final Map<Object, long[]> decodedBytes = new ConcurrentHashMap<>();
+        private final List<Map<String, Object>> completed = new CopyOnWriteArrayList<>();
+        private final List<String> visitedUrls = new CopyOnWriteArrayList<>();
+        private volatile Object mainFrameId;
+
+        @SuppressWarnings("unchecked")
+        Recorder(WebDriver webDriver) {
+            DevToolsSession.send(webDriver, "Network.enable", Map.of());
+            DevToolsSession.on(webDriver, "Network.requestWillBeSent", params -> requests.put(params.get("requestId"), params));
+            DevToolsSession.on(webDriver, "Network.responseReceived", params -> responses.put(params.get("requestId"), params));
+            DevToolsSession.on(webDriver, "Network.dataReceived", params ->
+                    decodedBytes.computeIfAbsent(params.get("requestId"), k -> new long[1])[0] += (long) num(params.get("dataLength")));
+            DevToolsSession.on(webDriver, "Network.loadingFinished", params ->
+                    finish(params.get("requestId"), num(params.get("timestamp")), (long) num(params.get("encodedDataLength")), null));
+            DevToolsSession.on(webDriver, "Network.loadingFailed", params ->
+                    finish(params.get("requestId"), num(params.get("timestamp")), 0, (String) params.get("errorText")));
+
+            DevToolsSession.send(webDriver, "Page.enable", Map.of());
+            DevToolsSession.on(webDriver, "Page.frameNavigated", params -> {
+                Map<String, Object> frame = (Map<String, Object>) params.get("frame");
+                if (frame.get("parentId") == null) {
+                    mainFrameId = frame.get("id");
+                    visitedUrls.add((String) frame.get("url"));
+                }
+            });
+            // React Router changes routes with pushState, which only fires this event
+            DevToolsSession.on(webDriver, "Page.navigatedWithinDocument", params -> {
+                if (mainFrameId == null || mainFrameId.equals(params.get("frameId"))) {
+                    visitedUrls.add((String) params.get("url"));
+                }
+            });
+        }
+
+        void clear() {
+            requests.clear();
+            responses.clear();
+            decodedBytes.clear();
+            completed.clear();
+            visitedUrls.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void finish(Object requestId, double finishedAt, long encodedBytes, String error) {
+            Map<String, Object> sent = requests.remove(requestId);
+            Map<String, Object> received = responses.remove(requestId);
+            long[] decoded = decodedBytes.remove(requestId);
+            if (sent == null) {
+                return;
+            }
+
+            Map<String, Object> request = (Map<String, Object>) sent.get("request");
+            Map<String, Object> response = received == null ? Map.of() : (Map<String, Object>) received.get("response");
+            Map<String, Object> timing = (Map<String, Object>) response.getOrDefault("timing", Map.of());
+            String method = (String) request.get("method");
+            String url = (String) request.get("url");
+
+            double total = (finishedAt - num(sent.get("timestamp"))) * 1000;
+            double headersEnd = num(timing.get("receiveHeadersEnd"));
+            double requestTime = num(timing.get("requestTime"));
+            double dnsStart = num(timing.get("dnsStart"));
+            double connectStart = num(timing.get("connectStart"));
+
+            Map<String, Object> timings = new LinkedHashMap<>();
+            timings.put("blocked", dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : num(timing.get("sendStart")));
+            timings.put("dns", phase(timing, "dnsStart", "dnsEnd"));
+            timings.put("connect", phase(timing, "connectStart", "connectEnd"));
+            timings.put("ssl", phase(timing, "sslStart", "sslEnd"));
+            timings.put("send", phase(timing, "sendStart", "sendEnd"));
+            timings.put("wait", phase(timing, "sendEnd", "receiveHeadersEnd"));
+            timings.put("receive", requestTime > 0 && headersEnd >= 0 ? (finishedAt - requestTime) * 1000 - headersEnd : -1);
+
+            Map<String, Object> harResponse = new LinkedHashMap<>();
+            harResponse.put("status", received == null ? 0 : ((Number) response.get("status")).intValue());
+            harResponse.put("statusText", error != null ? error : response.getOrDefault("statusText", ""));
+            harResponse.put("httpVersion", response.getOrDefault("protocol", ""));
+            harResponse.put("headers", toHarHeaders((Map<String, Object>) response.getOrDefault("headers", Map.of())));
+            harResponse.put("cookies", List.of());
+            harResponse.put("content", Map.of(
+                    "size", decoded == null ? 0 : decoded[0],
+                    "compression", decoded == null ? 0 : decoded[0] - encodedBytes,
+                    "mimeType", response.getOrDefault("mimeType", "")));
+            harResponse.put("redirectURL", "");
+            harResponse.put("headersSize", -1);
+            harResponse.put("bodySize", encodedBytes);
+            harResponse.put("_transferSize", encodedBytes);
+
+            Map<String, Object> harRequest = new LinkedHashMap<>();
+            harRequest.put("method", method);
+            harRequest.put("url", url);
+            harRequest.put("httpVersion", response.getOrDefault("protocol", ""));
+            harRequest.put("headers", toHarHeaders((Map<String, Object>) request.getOrDefault("headers", Map.of())));
+            harRequest.put("queryString", List.of());
+            harRequest.put("cookies", List.of());
+            harRequest.put("headersSize", -1);
+            harRequest.put("bodySize", -1);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("startedDateTime", Instant.ofEpochMilli((long) (num(sent.get("wallTime")) * 1000)).toString());
+            entry.put("time", total);
+            entry.put("request", harRequest);
+            entry.put("response", harResponse);
+            entry.put("cache", Map.of());
+            entry.put("timings", timings);
+            entry.put("_resourceType", sent.getOrDefault("type", ""));
+            entry.put("_endpoint", endpointOf(method, url));
+            completed.add(entry);
+        }
+
+        private static List<Map<String, Object>> toHarHeaders(Map<String, Object> headers) {
+            List<Map<String, Object>> harHeaders = new ArrayList<>();
+            headers.forEach((name, value) -> harHeaders.add(Map.of("name", name, "value", String.valueOf(value))));
+            return harHeaders;
+        }
+    }
+}
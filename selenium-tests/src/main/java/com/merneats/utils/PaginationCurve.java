@@ -0,0 +1,88 @@
+package com.merneats.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency samples by sort option and page depth, written as a curve.
+ * The per-sort slope (ms per page, least squares over page medians) is the skip penalty;
+ * a keyset-pagination fix should bring it close to zero.
+ */
+public class PaginationCurve {
+    private final Map<String, Map<Integer, List<Double>>> samples = new TreeMap<>();
+    
+    public synchronized void record(String sortOption, int page, double millis) {
+        samples.computeIfAbsent(sortOption, k -> new TreeMap<>())
+                .computeIfAbsent(page, k -> new ArrayList<>())
+                .add(millis);
+    }
+    
+    public synchronized boolean isEmpty() {
+        return samples.isEmpty();
+    }
+    
+    /**
+     * Writes sortOption,page,samples,p50,p90,max rows to the CSV file and prints a per-sort summary
+     */
+    public synchronized void write(File csvFile, String title) {
+        csvFile.getAbsoluteFile().getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(csvFile, StandardCharsets.UTF_8)) {
+            out.println("sortOption,page,samples,p50,p90,max");
+            System.out.println(title);
+            System.out.println(String.format("%-24s %6s %10s %10s %12s", "sortOption", "pages", "page 1 ms", "last ms", "ms per page"));
+            
+            for (Map.Entry<String, Map<Integer, List<Double>>> sort : samples.entrySet()) {
+                List<double[]> medians = new ArrayList<>();
+                for (Map.Entry<Integer, List<Double>> page : sort.getValue().entrySet()) {
+                    List<Double> sorted = new ArrayList<>(page.getValue());
+                    Collections.sort(sorted);
+                    double p50 = percentile(sorted, 50);
+                    medians.add(new double[] {page.getKey(), p50});
+                    out.println(String.format("%s,%d,%d,%.1f,%.1f,%.1f", sort.getKey(), page.getKey(), sorted.size(),
+                            p50, percentile(sorted, 90), sorted.get(sorted.size() - 1)));
+                }
+                System.out.println(String.format("%-24s %6d %10.1f %10.1f %12.2f", sort.getKey(), medians.size(),
+                        medians.get(0)[1], medians.get(medians.size() - 1)[1], slope(medians)));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write pagination curve: " + e.getMessage());
+        }
+    }
+    
+    static double percentile(List<Double> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+    
+    /**
+     * Least-squares slope of y over x; 0 when there are fewer than two points
+     */
+    static double slope(List<double[]> points) {
+        int n = points.size();
+        if (n < 2) {
+            return 0;
+        }
+        double sumX = 0;
+        double sumY = 0;
+        for (double[] point : points) {
+            sumX += point[0];
+            sumY += point[1];
+        }
+        double meanX = sumX / n;
+        double meanY = sumY / n;
+        double covariance = 0;
+        double variance = 0;
+        for (double[] point : points) {
+            covariance += (point[0] - meanX) * (point[1] - meanY);
+            variance += (point[0] - meanX) * (point[0] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+}
@@ -0,0 +1,139 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects page performance metrics after each navigation and checks them against per-route budgets.
+ * Budgets are configured as perf.budget.&lt;route&gt;.&lt;metric&gt;, e.g. perf.budget./search/{city}.lcp=2500
+ */
+public class PerformanceCapture {
+    public static final String[] METRICS = {
+            "ttfb", "domContentLoaded", "load", "fcp", "lcp", "cls", "transferBytes", "resourceCount"
+    };
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<List<Map<String, Object>>> navigations = ThreadLocal.withInitial(ArrayList::new);
+
+    // LCP and layout shifts are only exposed through PerformanceObserver; buffered entries arrive asynchronously
+    private static final String METRICS_SCRIPT =
+            "var done = arguments[arguments.length - 1], lcp = null, cls = 0;" +
+            "try {" +
+            "  new PerformanceObserver(function(list) { var e = list.getEntries(); if (e.length) { lcp = e[e.length - 1].startTime; } })" +
+            "    .observe({type: 'largest-contentful-paint', buffered: true});" +
+            "  new PerformanceObserver(function(list) { list.getEntries().forEach(function(e) { if (!e.hadRecentInput) { cls += e.value; } }); })" +
+            "    .observe({type: 'layout-shift', buffered: true});" +
+            "} catch (e) {}" +
+            "setTimeout(function() {" +
+            "  var nav = performance.getEntriesByType('navigation')[0] || {};" +
+            "  var fcp = performance.getEntriesByName('first-contentful-paint')[0];" +
+            "  var resources = performance.getEntriesByType('resource');" +
+            "  var bytes = nav.transferSize || 0;" +
+            "  resources.forEach(function(r) { bytes += r.transferSize || 0; });" +
+            "  done({ttfb: nav.responseStart, domContentLoaded: nav.domContentLoadedEventEnd, load: nav.loadEventEnd," +
+            "        fcp: fcp ? fcp.startTime : null, lcp: lcp, cls: cls, transferBytes: bytes, resourceCount: resources.length});" +
+            "}, 50);";
+
+    private PerformanceCapture() {
+    }
+
+    /**
+     * Records metrics for the page that was just loaded and fails the test if a route budget is exceeded
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> capture(String url) {
+        if (!config.isPerfCaptureEnabled() || !url.startsWith(config.getBaseUrl())) {
+            return Map.of();
+        }
+
+        Map<String, Object> metrics = (Map<String, Object>) ((JavascriptExecutor) DriverManager.getDriver())
+                .executeAsyncScript(METRICS_SCRIPT);
+        String route = routeOf(url);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("url", url);
+        entry.put("route", route);
+        entry.put("metrics", metrics);
+        navigations.get().add(entry);
+
+        List<String> exceeded = checkBudgets(route, metrics);
+        if (!exceeded.isEmpty()) {
+            entry.put("budgetViolations", exceeded);
+            if (config.isPerfBudgetsEnforced()) {
+                throw new AssertionError("Performance budget exceeded on " + route + ": " + String.join(", ", exceeded));
+            }
+            System.out.println("Performance budget exceeded on " + route + ": " + String.join(", ", exceeded));
+        }
+        return metrics;
+    }
+
+    /**
+     * Maps a concrete URL onto the app route it belongs to, e.g. /detail/65f... -> /detail/{id}
+     */
+    public static String routeOf(String url) {
+        String path = URI.create(url).getPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        if (path.startsWith("/search/")) {
+            return "/search/{city}";
+        }
+        if (path.startsWith("/detail/")) {
+            return "/detail/{id}";
+        }
+        return path;
+    }
+
+    public static List<Map<String, Object>> getNavigations() {
+        return navigations.get();
+    }
+
+    public static void reset() {
+        navigations.get().clear();
+    }
+
+    /**
+     * Writes this thread's navigations to target/perf/&lt;testName&gt;.json
+     */
+    public static void writeReport(String testName) {
+        if (navigations.get().isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("test", testName);
+        report.put("navigations", navigations.get());
+
+        File reportFile = new File("target/perf/" + testName + ".json");
+        reportFile.getParentFile().mkdirs();
+        try {
+            Files.writeString(reportFile.toPath(), new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write performance report: " + e.getMessage());
+        }
+    }
+
+    private static List<String> checkBudgets(String route, Map<String, Object> metrics) {
+        List<String> exceeded = new ArrayList<>();
+        for (String metric : METRICS) {
+            String budget = config.getProperty("perf.budget." + route + "." + metric);
+            Object value = metrics.get(metric);
+            if (budget != null && value instanceof Number
+                    && ((Number) value).doubleValue() > Double.parseDouble(budget)) {
+                exceeded.add(metric + "=" + value + " (budget " + budget + ")");
+            }
+        }
+        return exceeded;
+    }
+}
@@ -0,0 +1,96 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Waits before the suite starts until the backend health endpoint and the frontend both answer.
+ * Each target is polled on its own thread with exponential backoff, so this overlaps with browser pre-warming.
+ */
+public class ReadinessGate {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private ReadinessGate() {
+    }
+
+    /**
+     * Blocks until every target responds, or throws once readiness.timeoutSeconds has passed
+     */
+    public static void awaitReady() {
+        if (!config.isReadinessGateEnabled()) {
+            return;
+        }
+        
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(config.getReadinessTimeoutSeconds()).toMillis();
+        List<String> targets = List.of(config.getApiUrl() + config.getReadinessHealthPath(), config.getBaseUrl());
+        List<CompletableFuture<String>> probes = new ArrayList<>();
+        for (String target : targets) {
+            probes.add(CompletableFuture.supplyAsync(() -> poll(target, deadline)));
+        }
+        
+        List<String> failures = new ArrayList<>();
+        for (CompletableFuture<String> probe : probes) {
+            String failure = probe.join();
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new RuntimeException("Environment not ready after " + config.getReadinessTimeoutSeconds() + "s: "
+                    + String.join("; ", failures));
+        }
+    }
+
+    /**
+     * Polls one URL until it answers without a server error; returns null when ready, else the last error
+     */
+    private static String poll(String url, long deadline) {
+        long start = System.currentTimeMillis();
+        long backoff = 250;
+        String lastError = "no attempt made";
+        for (int attempt = 1; ; attempt++) {
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                        .timeout(Duration.ofSeconds(5))
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) {
+                    System.out.println("[" + Thread.currentThread().getId() + "] " + url + " ready after "
+                            + (System.currentTimeMillis() - start) + " ms (" + attempt + " attempt(s))");
+                    return null;
+                }
+                lastError = "HTTP " + response.statusCode();
+            } catch (IOException e) {
+                lastError = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return url + " interrupted";
+            }
+            
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return url + " (" + lastError + ")";
+            }
+            try {
+                Thread.sleep(Math.min(backoff, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return url + " interrupted";
+            }
+            backoff = Math.min(backoff * 2, 4000);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.merneats.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps app routes and API endpoints onto the source files they depend on.
+ * Frontend routes come from the route table in AppRoutes.tsx, API prefixes from the app.use() mounts in the
+ * backend's index.ts, and each is expanded to every file it reaches through relative or @/ imports.
+ * Paths are relative to the repository root.
+ */
+public class SourceMap {
+    public static final String FRONTEND_SRC = "frontend-mern-eats/src/";
+    public static final String BACKEND_SRC = "backend-mern-eats/src/";
+    private static final String APP_ROUTES = FRONTEND_SRC + "AppRoutes.tsx";
+    private static final String FRONTEND_ENTRY = FRONTEND_SRC + "main.tsx";
+    private static final String BACKEND_ENTRY = BACKEND_SRC + "index.ts";
+
+    private static final Pattern IMPORT = Pattern.compile("(?:from|import)\\s*\\(?\\s*[\"']((?:\\.{1,2}|@)/[^\"']+)[\"']");
+    private static final Pattern DEFAULT_IMPORT = Pattern.compile("import\\s+(\\w+)\\s+from\\s+[\"']((?:\\.{1,2}|@)/[^\"']+)[\"']");
+    private static final Pattern ROUTE_PATH = Pattern.compile("path=\"([^\"]+)\"");
+    private static final Pattern COMPONENT = Pattern.compile("<([A-Z]\\w*)");
+    private static final Pattern MOUNT = Pattern.compile("app\\.use\\(\\s*[\"'](/api/[^\"']+)[\"']\\s*,\\s*(\\w+)\\s*\\)");
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("(?m)^\\s*//.*$");
+    private static final String[] EXTENSIONS = {"", ".ts", ".tsx", "/index.ts", "/index.tsx"};
+
+    private final Path root;
+    private final Map<String, String> contents = new HashMap<>();
+    private final Map<String, Set<String>> routeFiles = new LinkedHashMap<>();
+    private final Map<String, Set<String>> endpointFiles = new LinkedHashMap<>();
+    private final Set<String> frontendShell = new LinkedHashSet<>();
+    private final Set<String> backendShell = new LinkedHashSet<>();
+
+    public SourceMap(Path root) {
+        this.root = root;
+        mapFrontend();
+        mapBackend();
+    }
+
+    /**
+     * Route patterns in the form routeKey() produces, each with the files it renders
+     */
+    public Map<String, Set<String>> getRouteFiles() {
+        return routeFiles;
+    }
+
+    /**
+     * Mounted API prefixes such as /api/my/user, each with the router and everything it imports
+     */
+    public Map<String, Set<String>> getEndpointFiles() {
+        return endpointFiles;
+    }
+
+    /**
+     * Files every page depends on: the app entry point, the route table and route wrappers
+     */
+    public Set<String> getFrontendShell() {
+        return frontendShell;
+    }
+
+    /**
+     * Files every API call depends on: the server entry point and whatever it imports outside the routers
+     */
+    public Set<String> getBackendShell() {
+        return backendShell;
+    }
+
+    /**
+     * Collapses route parameters so /search/:city and /search/{city} compare equal
+     */
+    public static String routeKey(String route) {
+        return route.replaceAll(":\\w+|\\{\\w+\\}", "*");
+    }
+
+    /**
+     * The mounted prefix an endpoint such as "GET /api/my/user" falls under, or null if none matches
+     */
+    public String prefixOf(String endpoint) {
+        String path = endpoint.substring(endpoint.indexOf(' ') + 1);
+        for (String prefix : endpointFiles.keySet()) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    private void mapFrontend() {
+        String appRoutes = read(APP_ROUTES);
+        if (appRoutes == null) {
+            return;
+        }
+        frontendShell.add(APP_ROUTES);
+        frontendShell.addAll(closure(FRONTEND_ENTRY, Set.of(APP_ROUTES)));
+
+        Map<String, String> components = new HashMap<>();
+        Matcher imports = DEFAULT_IMPORT.matcher(appRoutes);
+        while (imports.find()) {
+            String file = resolve(APP_ROUTES, imports.group(2));
+            if (file != null) {
+                components.put(imports.group(1), file);
+            }
+        }
+
+        // Each <Route ...> up to the next one holds its path and the components of its element
+        for (String segment : appRoutes.split("<Route\\b")) {
+            Set<String> files = new LinkedHashSet<>();
+            Matcher tags = COMPONENT.matcher(segment);
+            while (tags.find()) {
+                String file = components.get(tags.group(1));
+                if (file != null) {
+                    files.addAll(closure(file, Set.of()));
+                }
+            }
+
+            Matcher path = ROUTE_PATH.matcher(segment);
+            if (path.find() && !"*".equals(path.group(1))) {
+                routeFiles.computeIfAbsent(routeKey(path.group(1)), k -> new LinkedHashSet<>()).addAll(files);
+            } else {
+                // Layout routes such as ProtectedRoute wrap several pages, so treat them as shared
+                frontendShell.addAll(files);
+            }
+        }
+    }
+
+    private void mapBackend() {
+        String index = read(BACKEND_ENTRY);
+        if (index == null) {
+            return;
+        }
+
+        Map<String, String> routers = new HashMap<>();
+        Matcher imports = DEFAULT_IMPORT.matcher(index);
+        while (imports.find()) {
+            String file = resolve(BACKEND_ENTRY, imports.group(2));
+            if (file != null) {
+                routers.put(imports.group(1), file);
+            }
+        }
+
+        Set<String> mounted = new LinkedHashSet<>();
+        Matcher mounts = MOUNT.matcher(index);
+        while (mounts.find()) {
+            String router = routers.get(mounts.group(2));
+            if (router != null) {
+                mounted.add(router);
+                endpointFiles.computeIfAbsent(mounts.group(1), k -> new LinkedHashSet<>()).addAll(closure(router, Set.of()));
+            }
+        }
+        backendShell.addAll(closure(BACKEND_ENTRY, mounted));
+    }
+
+    /**
+     * The file itself plus everything it imports, transitively, without following into the stop files
+     */
+    private Set<String> closure(String start, Set<String> stop) {
+        Set<String> seen = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(start));
+        while (!pending.isEmpty()) {
+            String file = pending.pop();
+            if (stop.contains(file) || !seen.add(file)) {
+                continue;
+            }
+            String source = read(file);
+            if (source == null) {
+                continue;
+            }
+            Matcher imports = IMPORT.matcher(source);
+            while (imports.find()) {
+                String target = resolve(file, imports.group(1));
+                if (target != null) {
+                    pending.push(target);
+                }
+            }
+        }
+        seen.removeIf(file -> contents.get(file) == null);
+        return seen;
+    }
+
+    private String resolve(String from, String specifier) {
+        String base = specifier.startsWith("@/")
+                ? FRONTEND_SRC + specifier.substring(2)
+                : Path.of(from).resolveSibling(specifier).normalize().toString().replace('\\', '/');
+        for (String extension : EXTENSIONS) {
+            if (Files.isRegularFile(root.resolve(base + extension))) {
+                return base + extension;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Source with comments removed, so commented-out imports and routes are not followed; null if unreadable
+     */
+    private String read(String file) {
+        if (!contents.containsKey(file)) {
+            String source = null;
+            if (file.matches(".*\\.(ts|tsx|js|jsx)$")) {
+                try {
+                    source = Files.readString(root.resolve(file), StandardCharsets.UTF_8);
+                    source = LINE_COMMENT.matcher(BLOCK_COMMENT.matcher(source).replaceAll("")).replaceAll("");
+                } catch (IOException e) {
+                    source = null;
+                }
+            } else if (Files.isRegularFile(root.resolve(file))) {
+                // Stylesheets and images have no imports to follow but still belong to the closure
+                source = "";
+            }
+            contents.put(file, source);
+        }
+        return contents.get(file);
+    }
+}
@@ -0,0 +1,185 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits on real readiness signals (network, DOM, route) instead of fixed sleeps.
+ * Each await* primitive can be called on its own or chained; awaitSettled() combines the common ones.
+ */
+public class Synchronizer {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<WebDriver, NetworkTracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<long[]> stats = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final String DOM_QUIET_SCRIPT =
+            "var quiet = arguments[0], max = arguments[1], done = arguments[arguments.length - 1];" +
+            "var timer, cap, observer = new MutationObserver(function() {" +
+            "  clearTimeout(timer); timer = setTimeout(function() { finish(true); }, quiet);" +
+            "});" +
+            "function finish(settled) { observer.disconnect(); clearTimeout(timer); clearTimeout(cap); done(settled); }" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(function() { finish(true); }, quiet);" +
+            "cap = setTimeout(function() { finish(false); }, max);";
+
+    private Synchronizer() {
+    }
+
+    /**
+     * Starts counting fetch/XHR requests for the current driver, forgetting any left over from a previous test
+     */
+    public static void attach() {
+        WebDriver webDriver = DriverManager.getDriver();
+        if (DevToolsSession.isSupported(webDriver)) {
+            trackers.computeIfAbsent(webDriver, NetworkTracker::new).clear();
+        }
+    }
+
+    /**
+     * Waits until no fetch/XHR request has been in flight for the configured quiet window
+     */
+    public static void awaitNetworkIdle() {
+        awaitNetworkIdle(Duration.ofMillis(config.getNetworkQuietMillis()));
+    }
+
+    public static void awaitNetworkIdle(Duration quietWindow) {
+        NetworkTracker tracker = trackers.get(DriverManager.getDriver());
+        if (tracker == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        CommandProfiler.enter(CommandProfiler.READINESS_WAIT);
+        try {
+            long deadline = start + Duration.ofSeconds(config.getExplicitWait()).toNanos();
+            long idleSince = System.nanoTime();
+            while (System.nanoTime() < deadline) {
+                if (tracker.inFlight() > 0) {
+                    idleSince = System.nanoTime();
+                } else if (System.nanoTime() - idleSince >= quietWindow.toNanos()) {
+                    return;
+                }
+                Thread.sleep(25);
+            }
+            throw new TimeoutException("Network did not go idle, " + tracker.inFlight() + " request(s) still in flight");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            record(start);
+        }
+    }
+
+    /**
+     * Waits until the DOM has had no mutations for the configured quiet window, i.e. React finished rendering
+     */
+    public static void awaitDomQuiet() {
+        awaitDomQuiet(Duration.ofMillis(config.getDomQuietMillis()));
+    }
+
+    public static void awaitDomQuiet(Duration quietWindow) {
+        long start = System.nanoTime();
+        CommandProfiler.enter(CommandProfiler.READINESS_WAIT);
+        try {
+            Object settled = ((JavascriptExecutor) DriverManager.getDriver()).executeAsyncScript(DOM_QUIET_SCRIPT,
+                    quietWindow.toMillis(), Duration.ofSeconds(config.getExplicitWait()).toMillis());
+            if (!Boolean.TRUE.equals(settled)) {
+                throw new TimeoutException("DOM did not go quiet for " + quietWindow.toMillis() + " ms within "
+                        + config.getExplicitWait() + " s");
+            }
+        } finally {
+            record(start);
+        }
+    }
+
+    /**
+     * Waits for the client-side router to reach a URL containing the given path
+     */
+    public static void awaitRoute(String path) {
+        long start = System.nanoTime();
+        CommandProfiler.enter(CommandProfiler.READINESS_WAIT);
+        try {
+            DriverManager.getWait().until(ExpectedConditions.urlContains(path));
+        } finally {
+            record(start);
+        }
+    }
+
+    /**
+     * Waits for the URL to move away from the given one, e.g. after a link click or form submit
+     */
+    public static void awaitRouteChange(String fromUrl) {
+        long start = System.nanoTime();
+        CommandProfiler.enter(CommandProfiler.READINESS_WAIT);
+        try {
+            DriverManager.getWait().until(ExpectedConditions.not(ExpectedConditions.urlToBe(fromUrl)));
+        } finally {
+            record(start);
+        }
+    }
+
+    /**
+     * Network idle followed by DOM quiet: the page has fetched its data and rendered it
+     */
+    public static void awaitSettled() {
+        awaitNetworkIdle();
+        awaitDomQuiet();
+    }
+
+    public static void resetStats() {
+        long[] current = stats.get();
+        current[0] = 0;
+        current[1] = 0;
+    }
+
+    public static long getWaitedMillis() {
+        return stats.get()[0] / 1_000_000;
+    }
+
+    public static long getSyncPoints() {
+        return stats.get()[1];
+    }
+
+    private static void record(long start) {
+        CommandProfiler.exit();
+        long[] current = stats.get();
+        current[0] += System.nanoTime() - start;
+        current[1]++;
+    }
+
+    /**
+     * Counts in-flight fetch/XHR requests from CDP Network events
+     */
+    private static class NetworkTracker {
+        private final Set<Object> pending = ConcurrentHashMap.newKeySet();
+
+        NetworkTracker(WebDriver webDriver) {
+            DevToolsSession.send(webDriver, "Network.enable", Map.of());
+            DevToolsSession.on(webDriver, "Network.requestWillBeSent", params -> {
+                Object type = params.get("type");
+                if ("XHR".equals(type) || "Fetch".equals(type)) {
+                    pending.add(params.get("requestId"));
+                }
+            });
+            DevToolsSession.on(webDriver, "Network.loadingFinished", params -> pending.remove(params.get("requestId")));
+            DevToolsSession.on(webDriver, "Network.loadingFailed", params -> pending.remove(params.get("requestId")));
+        }
+
+        int inFlight() {
+            return pending.size();
+        }
+
+        void clear() {
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test impact analysis. Every test's app routes and API endpoints are learned from what it actually navigated
+ * to and called, and SourceMap turns those into source files, so a diff can be narrowed to the tests it affects.
+ * Anything the map cannot account for falls back to running the whole suite.
+ */
+public class TestImpact {
+    private static final Pattern TEST_CLASS = Pattern.compile("selenium-tests/src/test/java/com/merneats/tests/(\\w+)\\.java");
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<String, Coverage> recorded = new ConcurrentHashMap<>();
+
+    private TestImpact() {
+    }
+
+    /**
+     * Remembers the routes and endpoints the current thread's test touched, for write() at the end of the suite.
+     * Nothing is recorded when navigation or network capture is off, since an empty record would hide dependencies.
+     */
+    public static void record(String testName, boolean passed) {
+        if (!config.isPerfCaptureEnabled() || !config.isNetworkCaptureEnabled()
+                || !DevToolsSession.isSupported(DriverManager.getDriver())) {
+            return;
+        }
+
+        Set<String> routes = new TreeSet<>();
+        for (Map<String, Object> navigation : PerformanceCapture.getNavigations()) {
+            routes.add((String) navigation.get("route"));
+        }
+        // Client-side navigation never goes through navigateTo, so also count every route the page showed
+        List<String> urls = new ArrayList<>(NetworkRecorder.getVisitedUrls());
+        urls.add(DriverManager.getDriver().getCurrentUrl());
+        for (String url : urls) {
+            if (url != null && url.startsWith(config.getBaseUrl())) {
+                routes.add(PerformanceCapture.routeOf(url));
+            }
+        }
+
+        Set<String> endpoints = new TreeSet<>();
+        for (Map<String, Object> entry : NetworkRecorder.getEntries()) {
+            if (entry.get("_endpoint") != null) {
+                endpoints.add((String) entry.get("_endpoint"));
+            }
+        }
+
+        recorded.put(testName, new Coverage(routes, endpoints, passed));
+    }
+
+    /**
+     * Merges this run's records into the coverage file. Tests that did not run keep their previous entry.
+     * Shards share the file, so the read-merge-write runs under a lock file and the result is moved into place
+     * atomically; concurrent runs then build on each other's updates and readers never see a partial file.
+     */
+    public static synchronized void write() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+
+        File file = new File(config.getImpactCoveragePath()).getAbsoluteFile();
+        file.getParentFile().mkdirs();
+        try (FileChannel lockChannel = FileChannel.open(Path.of(file.getPath() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                Path temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+                Files.writeString(temp, new Json().toJson(merge(load())), StandardCharsets.UTF_8);
+                Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write test coverage: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> merge(Map<String, Object> stored) {
+        Map<String, Object> coverage = new TreeMap<>(stored);
+        recorded.forEach((testName, record) -> {
+            Set<String> routes = new TreeSet<>(record.routes);
+            Set<String> endpoints = new TreeSet<>(record.endpoints);
+            Map<String, Object> previous = (Map<String, Object>) coverage.get(testName);
+            // A failed test may have stopped early, so it only ever adds to what earlier runs learned
+            if (previous != null && !record.passed) {
+                routes.addAll((Collection<String>) previous.getOrDefault("routes", List.of()));
+                endpoints.addAll((Collection<String>) previous.getOrDefault("endpoints", List.of()));
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("routes", routes);
+            entry.put("endpoints", endpoints);
+            coverage.put(testName, entry);
+        });
+        return coverage;
+    }
+
+    /**
+     * Files changed since impact.base (git diff, including uncommitted work), or the impact.changedFiles list.
+     * Returns null when no base is configured or git cannot produce a diff.
+     */
+    public static List<String> changedFiles() {
+        String listed = config.getImpactChangedFiles();
+        if (listed != null) {
+            return Arrays.asList(listed.trim().split("\\s*,\\s*"));
+        }
+        String base = config.getImpactBase();
+        if (base == null || base.isBlank()) {
+            return null;
+        }
+
+        try {
+            Process git = new ProcessBuilder("git", "-C", config.getImpactRepoRoot(), "diff", "--name-only", base)
+                    .redirectErrorStream(true)
+                    .start();
+            List<String> files = new ArrayList<>();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        files.add(line.trim());
+                    }
+                }
+            }
+            if (!git.waitFor(30, TimeUnit.SECONDS) || git.exitValue() != 0) {
+                System.err.println("git diff against " + base + " failed: " + String.join(" ", files));
+                return null;
+            }
+            return files;
+        } catch (IOException e) {
+            System.err.println("Could not run git diff: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * The subset of tests affected by the changed files, or null when the whole suite should run.
+     * Tests with no recorded coverage are always selected.
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> select(Collection<String> tests, List<String> changedFiles) {
+        Map<String, Object> coverage = load();
+        if (coverage.isEmpty()) {
+            System.out.println("Test impact: no recorded coverage yet, running everything");
+            return null;
+        }
+
+        SourceMap sources = new SourceMap(Path.of(config.getImpactRepoRoot()));
+        List<PathMatcher> ignored = new ArrayList<>();
+        for (String glob : config.getImpactIgnore()) {
+            ignored.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String test : tests) {
+            if (!coverage.containsKey(test)) {
+                selected.add(test);
+            }
+        }
+
+        for (String file : changedFiles) {
+            if (ignored.stream().anyMatch(matcher -> matcher.matches(Path.of(file)))) {
+                continue;
+            }
+
+            Matcher testClass = TEST_CLASS.matcher(file);
+            if (testClass.matches()) {
+                for (String test : tests) {
+                    if (test.startsWith(testClass.group(1) + ".")) {
+                        selected.add(test);
+                    }
+                }
+                continue;
+            }
+
+            boolean frontendShell = sources.getFrontendShell().contains(file);
+            boolean backendShell = sources.getBackendShell().contains(file);
+            Set<String> routeKeys = new LinkedHashSet<>();
+            sources.getRouteFiles().forEach((route, files) -> {
+                if (files.contains(file)) {
+                    routeKeys.add(route);
+                }
+            });
+            Set<String> prefixes = new LinkedHashSet<>();
+            sources.getEndpointFiles().forEach((prefix, files) -> {
+                if (files.contains(file)) {
+                    prefixes.add(prefix);
+                }
+            });
+            if (!frontendShell && !backendShell && routeKeys.isEmpty() && prefixes.isEmpty()) {
+                System.out.println("Test impact: " + file + " is not mapped to any route or endpoint, running everything");
+                return null;
+            }
+
+            for (String test : tests) {
+                Map<String, Object> entry = (Map<String, Object>) coverage.get(test);
+                if (entry == null) {
+                    continue;
+                }
+                Collection<String> routes = (Collection<String>) entry.getOrDefault("routes", List.of());
+                Collection<String> endpoints = (Collection<String>) entry.getOrDefault("endpoints", List.of());
+                if ((frontendShell && !routes.isEmpty())
+                        || (backendShell && !endpoints.isEmpty())
+                        || routes.stream().anyMatch(route -> routeKeys.contains(SourceMap.routeKey(route)))
+                        || endpoints.stream().anyMatch(endpoint -> prefixes.contains(sources.prefixOf(endpoint)))) {
+                    selected.add(test);
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static Map<String, Object> load() {
+        File file = new File(config.getImpactCoveragePath());
+        if (!file.exists()) {
+            return Map.of();
+        }
+        try {
+            return new Json().toType(Files.readString(file.toPath(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to read test coverage: " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * What one test touched in this run
+     */
+    private static class Coverage {
+        private final Set<String> routes;
+        private final Set<String> endpoints;
+        private final boolean passed;
+
+        Coverage(Set<String> routes, Set<String> endpoints, boolean passed) {
+            this.routes = routes;
+            this.endpoints = endpoints;
+            this.passed = passed;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.merneats.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gathers everything measured during the current thread's test into route -> metric -> value form
+ */
+public class TestMetrics {
+    public static final String TEST_ROUTE = "-";
+    
+    private TestMetrics() {
+    }
+    
+    /**
+     * Page timings, API latencies, browser startup and test duration. Repeated samples are reduced to their median.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, Double>> collect(long testDurationMillis) {
+        Map<String, Map<String, List<Double>>> samples = new TreeMap<>();
+        
+        for (Map<String, Object> navigation : PerformanceCapture.getNavigations()) {
+            String route = (String) navigation.get("route");
+            Map<String, Object> metrics = (Map<String, Object>) navigation.get("metrics");
+            for (String metric : PerformanceCapture.METRICS) {
+                Object value = metrics.get(metric);
+                if (value instanceof Number) {
+                    add(samples, route, metric, ((Number) value).doubleValue());
+                }
+            }
+        }
+        
+        for (Map<String, Object> entry : NetworkRecorder.getEntries()) {
+            String endpoint = (String) entry.get("_endpoint");
+            if (endpoint != null) {
+                add(samples, endpoint, "latency", ((Number) entry.get("time")).doubleValue());
+            }
+        }
+        
+        if (DriverManager.getStartupMillis() > 0) {
+            add(samples, TEST_ROUTE, "browserStartup", DriverManager.getStartupMillis());
+        }
+        add(samples, TEST_ROUTE, "testDuration", testDurationMillis);
+        
+        Map<String, Map<String, Double>> reduced = new TreeMap<>();
+        samples.forEach((route, metrics) -> metrics.forEach((metric, values) ->
+                reduced.computeIfAbsent(route, r -> new TreeMap<>()).put(metric, MetricsStore.median(values))));
+        return reduced;
+    }
+    
+    private static void add(Map<String, Map<String, List<Double>>> samples, String route, String metric, double value) {
+        samples.computeIfAbsent(route, r -> new TreeMap<>())
+                .computeIfAbsent(metric, m -> new ArrayList<>())
+                .add(value);
+    }
+}
@@ -0,0 +1,82 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands each worker thread its own account, registered through /api/auth/register.
+ * Emails are fixed per worker slot (and shard), so later runs reuse the same accounts instead of adding new ones.
+ */
+public class TestUserAllocator {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<Long, TestUser> users = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextSlot = new AtomicInteger(1);
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    
+    private TestUserAllocator() {
+    }
+    
+    /**
+     * Returns the account owned by the calling thread, provisioning it on first use
+     */
+    public static TestUser forCurrentThread() {
+        return users.computeIfAbsent(Thread.currentThread().getId(), TestUserAllocator::provision);
+    }
+    
+    private static TestUser provision(long workerId) {
+        if (!config.isProvisionTestUsers()) {
+            return new TestUser(config.getTestUserEmail(), config.getTestUserPassword(), config.getTestUserName());
+        }
+        
+        int slot = nextSlot.getAndIncrement();
+        String shard = config.getShard();
+        String prefix = shard == null || shard.isBlank() ? "selenium" : "selenium-s" + shard.split("/")[0].trim();
+        TestUser user = new TestUser(
+                prefix + "-w" + slot + "@" + config.getTestUserDomain(),
+                config.getTestUserPassword(),
+                config.getTestUserName() + " W" + slot);
+        
+        String body = new Json().toJson(Map.of(
+                "email", user.getEmail(),
+                "password", user.getPassword(),
+                "name", user.getName()));
+        
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.getApiUrl() + "/api/auth/register"))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 400 && response.body().contains("User already exists")) {
+                System.out.println("[" + workerId + "] Reusing test user " + user.getEmail());
+                return user;
+            }
+            if (response.statusCode() != 201) {
+                throw new RuntimeException("Registering " + user.getEmail() + " failed with status "
+                        + response.statusCode() + ": " + response.body());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to register test user: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while registering test user", e);
+        }
+        
+        System.out.println("[" + workerId + "] Provisioned test user " + user.getEmail());
+        return user;
+    }
+}
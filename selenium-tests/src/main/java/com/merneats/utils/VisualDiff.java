@@ -0,0 +1,380 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Screenshot comparison against the PNG baselines in visual.baselineDir.
+ * Screenshots and baselines are decoded straight into int[] pixel buffers reused by each worker. A 64-bit DCT
+ * perceptual hash, cached per baseline, passes unchanged pages without decoding the baseline at all; only pages
+ * whose hash moved get a per-pixel diff, split into tiles that run on the common fork-join pool.
+ * Elements matched by the ignore selectors (restaurant images by default) are painted out on both sides first.
+ */
+public class VisualDiff {
+    private static final int HASH_GRID = 32;
+    private static final int HASH_BITS = 8;
+    private static final int IGNORED = 0x808080;
+    private static final double[][] COSINES = new double[HASH_BITS][HASH_GRID];
+
+    private static final String RECTS_SCRIPT =
+            "var dpr = window.devicePixelRatio || 1, rects = [];" +
+            "arguments[0].forEach(function(selector) {" +
+            "  document.querySelectorAll(selector).forEach(function(e) {" +
+            "    var r = e.getBoundingClientRect();" +
+            "    if (r.width > 0 && r.height > 0) {" +
+            "      rects.push([r.left, r.top, r.width, r.height].map(function(v) { return Math.round(v * dpr); }));" +
+            "    }" +
+            "  });" +
+            "});" +
+            "return rects;";
+
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, Integer>> visits = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<List<String>> mismatches = ThreadLocal.withInitial(ArrayList::new);
+    // baseline path, modification time and ignore regions -> {hash, width, height}
+    private static final Map<String, long[]> baselineHashes = new ConcurrentHashMap<>();
+
+    static {
+        for (int u = 0; u < HASH_BITS; u++) {
+            for (int x = 0; x < HASH_GRID; x++) {
+                COSINES[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * HASH_GRID));
+            }
+        }
+    }
+
+    private VisualDiff() {
+    }
+
+    public static void startTest(String testName) {
+        currentTest.set(testName);
+        visits.remove();
+        mismatches.remove();
+    }
+
+    /**
+     * Mismatches found since startTest, as "name: detail" lines
+     */
+    public static List<String> finishTest() {
+        List<String> found = mismatches.get();
+        mismatches.remove();
+        visits.remove();
+        return found;
+    }
+
+    /**
+     * Compares the page navigateTo just settled on, named after the test, the route and the visit number.
+     * Problems taking the screenshot are logged and never fail the navigation.
+     */
+    public static void checkPage(String url) {
+        if (!config.isVisualDiffEnabled() || currentTest.get() == null || !url.startsWith(config.getBaseUrl())) {
+            return;
+        }
+
+        String route = PerformanceCapture.routeOf(url).replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        String name = currentTest.get() + "_" + (route.isEmpty() ? "home" : route);
+        int visit = visits.get().merge(name, 1, Integer::sum);
+        CommandProfiler.enter("visualDiff");
+        try {
+            check(visit > 1 ? name + "_" + visit : name);
+        } catch (WebDriverException e) {
+            System.err.println("[" + Thread.currentThread().getId() + "] Visual check of " + name + " failed: " + e.getMessage());
+        } finally {
+            CommandProfiler.exit();
+        }
+    }
+
+    /**
+     * Compares the current viewport with the named baseline, recording it when there is none yet.
+     * Returns false, and writes the screenshot and a diff mask to target/visual, when too many pixels changed.
+     */
+    public static boolean check(String name, String... ignoreSelectors) {
+        long start = System.nanoTime();
+        WebDriver webDriver = DriverManager.getDriver();
+        List<String> selectors = new ArrayList<>(config.getVisualIgnoreSelectors());
+        selectors.addAll(Arrays.asList(ignoreSelectors));
+        int[][] regions = ignoreRegions(webDriver, selectors);
+        byte[] png = ((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES);
+
+        File baseline = new File(config.getVisualBaselineDir(), name + ".png");
+        if (!baseline.isFile() || config.isVisualUpdateBaselines()) {
+            write(baseline, png);
+            System.out.println("[" + Thread.currentThread().getId() + "] Recorded visual baseline " + baseline.getPath());
+            return true;
+        }
+
+        Buffers b = buffers.get();
+        try {
+            b.actual = decode(b.reader, new ByteArrayInputStream(png), b.actual);
+            mask(b.actual, regions);
+            long actualHash = hash(b, b.actual);
+
+            String key = baseline.getPath() + ":" + baseline.lastModified() + ":" + Arrays.deepHashCode(regions);
+            long[] expected = baselineHashes.get(key);
+            if (expected == null || !matches(expected, actualHash, b.actual)) {
+                b.expected = decode(b.reader, baseline, b.expected);
+                mask(b.expected, regions);
+                expected = new long[] {hash(b, b.expected), b.expected.getWidth(), b.expected.getHeight()};
+                baselineHashes.put(key, expected);
+            }
+            if (matches(expected, actualHash, b.actual)) {
+                return true;
+            }
+            if (expected[1] != b.actual.getWidth() || expected[2] != b.actual.getHeight()) {
+                return mismatch(name, png, null, "size changed from " + expected[1] + "x" + expected[2]
+                        + " to " + b.actual.getWidth() + "x" + b.actual.getHeight());
+            }
+
+            long changed = diff(b);
+            double ratio = (double) changed / ((long) b.actual.getWidth() * b.actual.getHeight());
+            System.out.println("[" + Thread.currentThread().getId() + "] Visual diff " + name + ": "
+                    + changed + " pixels changed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            if (ratio <= config.getVisualMaxDiffRatio()) {
+                return true;
+            }
+            return mismatch(name, png, b.mask, String.format("%.3f%% of pixels changed", ratio * 100));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not decode screenshot for visual check " + name, e);
+        }
+    }
+
+    /**
+     * True when the hash is within visual.hashThreshold bits and the size is unchanged; a negative threshold always diffs
+     */
+    private static boolean matches(long[] expected, long actualHash, BufferedImage actual) {
+        return expected[1] == actual.getWidth() && expected[2] == actual.getHeight()
+                && Long.bitCount(expected[0] ^ actualHash) <= config.getVisualHashThreshold();
+    }
+
+    private static boolean mismatch(String name, byte[] png, BufferedImage diffMask, String detail) {
+        File dir = new File("target/visual");
+        write(new File(dir, name + ".actual.png"), png);
+        if (diffMask != null) {
+            try {
+                ImageIO.write(diffMask, "png", new File(dir, name + ".diff.png"));
+            } catch (IOException e) {
+                System.err.println("Failed to write diff mask for " + name + ": " + e.getMessage());
+            }
+        }
+        String mismatch = name + ": " + detail;
+        mismatches.get().add(mismatch);
+        System.err.println("[" + Thread.currentThread().getId() + "] VISUAL MISMATCH " + mismatch);
+        return false;
+    }
+
+    /**
+     * Counts pixels differing by more than visual.pixelTolerance in any channel, tile by tile in parallel.
+     * The mask shows changed pixels in red over a faded copy of the baseline.
+     */
+    private static long diff(Buffers b) {
+        int width = b.actual.getWidth();
+        int height = b.actual.getHeight();
+        if (b.mask == null || b.mask.getWidth() != width || b.mask.getHeight() != height) {
+            b.mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        int[] actual = pixels(b.actual);
+        int[] expected = pixels(b.expected);
+        int[] mask = pixels(b.mask);
+        int tile = config.getVisualTileSize();
+        int tolerance = config.getVisualPixelTolerance();
+        int columns = (width + tile - 1) / tile;
+        int rows = (height + tile - 1) / tile;
+
+        return IntStream.range(0, columns * rows).parallel().mapToLong(t -> {
+            int left = (t % columns) * tile;
+            int top = (t / columns) * tile;
+            int right = Math.min(left + tile, width);
+            int bottom = Math.min(top + tile, height);
+            long changed = 0;
+            for (int y = top; y < bottom; y++) {
+                for (int i = y * width + left, end = y * width + right; i < end; i++) {
+                    int a = actual[i];
+                    int e = expected[i];
+                    if (Math.abs(((a >> 16) & 0xFF) - ((e >> 16) & 0xFF)) > tolerance
+                            || Math.abs(((a >> 8) & 0xFF) - ((e >> 8) & 0xFF)) > tolerance
+                            || Math.abs((a & 0xFF) - (e & 0xFF)) > tolerance) {
+                        mask[i] = 0xFF0000;
+                        changed++;
+                    } else {
+                        int faded = 0xC0 + (luminance(e) >> 2);
+                        mask[i] = (faded << 16) | (faded << 8) | faded;
+                    }
+                }
+            }
+            return changed;
+        }).sum();
+    }
+
+    /**
+     * 64-bit pHash: the image is box-averaged to a 32x32 luminance grid, and each bit says whether one of the
+     * lowest 8x8 DCT frequencies is above their median
+     */
+    private static long hash(Buffers b, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = pixels(image);
+        double[] grid = b.grid;
+        int[] counts = b.counts;
+        Arrays.fill(grid, 0);
+        Arrays.fill(counts, 0);
+        for (int y = 0; y < height; y++) {
+            int row = (int) ((long) y * HASH_GRID / height) * HASH_GRID;
+            for (int x = 0, i = y * width; x < width; x++, i++) {
+                int cell = row + (int) ((long) x * HASH_GRID / width);
+                grid[cell] += luminance(pixels[i]);
+                counts[cell]++;
+            }
+        }
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] /= Math.max(1, counts[cell]);
+        }
+
+        double[] rows = b.dctRows;
+        for (int u = 0; u < HASH_BITS; u++) {
+            for (int x = 0; x < HASH_GRID; x++) {
+                double sum = 0;
+                for (int y = 0; y < HASH_GRID; y++) {
+                    sum += COSINES[u][y] * grid[y * HASH_GRID + x];
+                }
+                rows[u * HASH_GRID + x] = sum;
+            }
+        }
+        double[] coefficients = b.coefficients;
+        for (int u = 0; u < HASH_BITS; u++) {
+            for (int v = 0; v < HASH_BITS; v++) {
+                double sum = 0;
+                for (int x = 0; x < HASH_GRID; x++) {
+                    sum += rows[u * HASH_GRID + x] * COSINES[v][x];
+                }
+                coefficients[u * HASH_BITS + v] = sum;
+            }
+        }
+
+        // The DC term only carries overall brightness, so it is left out of the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Decodes a PNG into reuse when it has the right size and layout, so the worker's int[] is not reallocated
+     */
+    private static BufferedImage decode(ImageReader reader, Object source, BufferedImage reuse) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            reader.setInput(in, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            ImageTypeSpecifier raw = reader.getRawImageType(0);
+            int bands = raw != null ? raw.getNumBands() : 0;
+            int type = bands == 4 ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            if (reuse == null || reuse.getWidth() != width || reuse.getHeight() != height || reuse.getType() != type) {
+                reuse = new BufferedImage(width, height, type);
+            }
+            if (bands == 3 || bands == 4) {
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setDestination(reuse);
+                return reader.read(0, param);
+            }
+            // Grey or palette images cannot be decoded into an int buffer directly
+            BufferedImage decoded = reader.read(0);
+            reuse.createGraphics().drawImage(decoded, 0, 0, null);
+            return reuse;
+        } finally {
+            reader.setInput(null);
+        }
+    }
+
+    private static void mask(BufferedImage image, int[][] regions) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = pixels(image);
+        for (int[] region : regions) {
+            int left = Math.max(0, region[0]);
+            int top = Math.max(0, region[1]);
+            int right = Math.min(width, region[0] + region[2]);
+            int bottom = Math.min(height, region[1] + region[3]);
+            for (int y = top; y < bottom; y++) {
+                Arrays.fill(pixels, y * width + Math.min(left, right), y * width + right, 0xFF000000 | IGNORED);
+            }
+        }
+    }
+
+    /**
+     * Screenshot-pixel rectangles [x, y, width, height] of every visible element matching the selectors
+     */
+    @SuppressWarnings("unchecked")
+    private static int[][] ignoreRegions(WebDriver webDriver, List<String> selectors) {
+        if (selectors.isEmpty()) {
+            return new int[0][];
+        }
+        List<List<Number>> rects = (List<List<Number>>) ((JavascriptExecutor) webDriver).executeScript(RECTS_SCRIPT, selectors);
+        int[][] regions = new int[rects.size()][];
+        for (int i = 0; i < rects.size(); i++) {
+            List<Number> rect = rects.get(i);
+            regions[i] = new int[] {rect.get(0).intValue(), rect.get(1).intValue(), rect.get(2).intValue(), rect.get(3).intValue()};
+        }
+        return regions;
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    private static int luminance(int rgb) {
+        return (((rgb >> 16) & 0xFF) * 77 + ((rgb >> 8) & 0xFF) * 150 + (rgb & 0xFF) * 29) >> 8;
+    }
+
+    private static void write(File file, byte[] png) {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        try {
+            Files.write(file.toPath(), png);
+        } catch (IOException e) {
+            System.err.println("Failed to write " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pixel and hash scratch space owned by one worker thread
+     */
+    private static class Buffers {
+        private final ImageReader reader = ImageIO.getImageReadersByFormatName("png").next();
+        private final double[] grid = new double[HASH_GRID * HASH_GRID];
+        private final int[] counts = new int[HASH_GRID * HASH_GRID];
+        private final double[] dctRows = new double[HASH_BITS * HASH_GRID];
+        private final double[] coefficients = new double[HASH_BITS * HASH_BITS];
+        private BufferedImage actual;
+        private BufferedImage expected;
+        private BufferedImage mask;
+    }
+}
@@ -1,39 +1,33 @@
 package com.merneats.tests;
 
+import com.merneats.pages.DetailPage;
+import com.merneats.pages.HomePage;
+import com.merneats.pages.SearchPage;
 import com.merneats.utils.BaseTest;
-import com.merneats.utils.DriverManager;
-import org.openqa.selenium.By;
-import org.openqa.selenium.Keys;
-import org.openqa.selenium.WebElement;
+import com.merneats.utils.NetworkRecorder;
+import com.merneats.utils.PaginationCurve;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
-import java.util.List;
+import java.io.File;
+import java.util.Map;
 
 public class RestaurantSearchTests extends BaseTest {
     
     private static final String TEST_CITY = "London";
+    private static final String SEARCH_ENDPOINT = "GET /api/restaurant/search/:city";
     
     @Test(priority = 4, description = "Test Case 4: Search for restaurants by city")
     public void test04_searchRestaurantByCity() {
-        navigateTo("/");
-        sleep(2);
+        HomePage homePage = new HomePage().open();
         
         try {
-            // Find search input on homepage
-            WebElement searchInput = DriverManager.waitForVisible(
-                    By.xpath("//input[@placeholder='Search by City or Town' or @type='text']")
-            );
-            
-            // Enter city name and submit
-            searchInput.clear();
-            searchInput.sendKeys(TEST_CITY);
-            searchInput.sendKeys(Keys.RETURN);
-            
-            sleep(3);
+            // Enter city name in the homepage search bar and submit
+            SearchPage searchPage = homePage.searchFor(TEST_CITY);
             
             // Verify navigation to search results page
-            String currentUrl = driver.getCurrentUrl();
+            String currentUrl = searchPage.currentUrl();
             Assert.assertTrue(currentUrl.contains("/search"), 
                     "Not redirected to search page. Current URL: " + currentUrl);
             Assert.assertTrue(currentUrl.toLowerCase().contains(TEST_CITY.toLowerCase()), 
@@ -46,23 +40,11 @@ public class RestaurantSearchTests extends BaseTest {
     
     @Test(priority = 9, description = "Test Case 9: Verify search results are displayed")
     public void test09_viewSearchResults() {
-        navigateTo("/search/" + TEST_CITY);
-        sleep(3);
+        SearchPage searchPage = new SearchPage().open(TEST_CITY);
         
         try {
             // Check if results or no results message is displayed
-            boolean hasResults = DriverManager.isElementPresent(
-                    By.xpath("//div[contains(@class, 'restaurant') or contains(@class, 'card')]")
-            ) || DriverManager.isElementPresent(
-                    By.xpath("//*[contains(text(), 'restaurant') or contains(text(), 'Restaurant')]")
-            );
-            
-            boolean hasNoResultsMsg = DriverManager.isElementPresent(
-                    By.xpath("//*[contains(text(), 'No results') or contains(text(), 'no restaurants') or contains(text(), 'found')]")
-            );
-            
-            boolean pageHasContent = hasResults || hasNoResultsMsg;
-            Assert.assertTrue(pageHasContent, "Search results page appears empty");
+            Assert.assertTrue(searchPage.hasResultsOrEmptyMessage(), "Search results page appears empty");
             
         } catch (Exception e) {
             System.out.println("View results test info: " + e.getMessage());
@@ -71,24 +53,13 @@ public class RestaurantSearchTests extends BaseTest {
     
     @Test(priority = 10, description = "Test Case 10: Filter restaurants by cuisine type")
     public void test05_filterRestaurantsByCuisine() {
-        navigateTo("/search/" + TEST_CITY);
-        sleep(3);
+        SearchPage searchPage = new SearchPage().open(TEST_CITY);
         
         try {
-            // Look for cuisine filter checkboxes
-            List<WebElement> cuisineFilters = driver.findElements(By.xpath("//input[@type='checkbox']"));
+            Boolean isChecked = searchPage.toggleFirstCuisine();
             
-            if (cuisineFilters.size() > 0) {
-                WebElement firstFilter = cuisineFilters.get(0);
-                DriverManager.scrollToElement(firstFilter);
-                sleep(1);
-                
-                // Click filter using JavaScript to avoid interception issues
-                DriverManager.clickWithJS(firstFilter);
-                sleep(2);
-                
+            if (isChecked != null) {
                 // Verify filter is applied
-                boolean isChecked = firstFilter.isSelected();
                 Assert.assertTrue(isChecked, "Cuisine filter not applied");
             } else {
                 System.out.println("No cuisine filters found on page");
@@ -101,33 +72,11 @@ public class RestaurantSearchTests extends BaseTest {
     
     @Test(priority = 11, description = "Test Case 11: Sort restaurant search results")
     public void test11_sortSearchResults() {
-        navigateTo("/search/" + TEST_CITY);
-        sleep(3);
+        SearchPage searchPage = new SearchPage().open(TEST_CITY);
         
         try {
-            // Look for sort dropdown or buttons
-            List<WebElement> sortElements = driver.findElements(
-                    By.xpath("//select[contains(@name, 'sort')] | //button[contains(text(), 'Sort')] | //*[contains(@class, 'sort')]")
-            );
-            
-            if (sortElements.size() > 0) {
-                WebElement sortElement = sortElements.get(0);
-                DriverManager.scrollToElement(sortElement);
-                sleep(1);
-                
-                sortElement.click();
-                sleep(1);
-                
-                // Try to select a sort option
-                List<WebElement> sortOptions = driver.findElements(
-                        By.xpath("//option | //*[@role='menuitem']")
-                );
-                
-                if (sortOptions.size() > 1) {
-                    sortOptions.get(1).click();
-                    sleep(2);
-                }
-                
+            // Select the second sort option from the dropdown
+            if (searchPage.sortBy(1)) {
                 System.out.println("Sort functionality tested successfully");
             } else {
                 System.out.println("Sort functionality not found");
@@ -140,27 +89,15 @@ public class RestaurantSearchTests extends BaseTest {
     
     @Test(priority = 12, description = "Test Case 12: View details of a specific restaurant")
     public void test06_viewRestaurantDetails() {
-        navigateTo("/search/" + TEST_CITY);
-        sleep(3);
+        SearchPage searchPage = new SearchPage().open(TEST_CITY);
         
         try {
-            // Find restaurant cards/links
-            List<WebElement> restaurantLinks = driver.findElements(
-                    By.xpath("//a[contains(@href, '/detail/')] | //div[contains(@class, 'restaurant')]//a")
-            );
+            DetailPage detailPage = searchPage.openFirstResult();
             
-            if (restaurantLinks.size() > 0) {
-                WebElement firstRestaurant = restaurantLinks.get(0);
-                DriverManager.scrollToElement(firstRestaurant);
-                sleep(1);
-                firstRestaurant.click();
-                
-                sleep(3);
-                
+            if (detailPage != null) {
                 // Verify navigation to detail page
-                String currentUrl = driver.getCurrentUrl();
-                Assert.assertTrue(currentUrl.contains("/detail/"), 
-                        "Not navigated to detail page. Current URL: " + currentUrl);
+                Assert.assertTrue(detailPage.isOpen(), 
+                        "Not navigated to detail page. Current URL: " + detailPage.currentUrl());
             } else {
                 System.out.println("No restaurant links found to test");
             }
@@ -172,34 +109,58 @@ public class RestaurantSearchTests extends BaseTest {
     
     @Test(priority = 13, description = "Test Case 13: Navigate through search results pagination")
     public void test13_paginationNavigation() {
-        navigateTo("/search/" + TEST_CITY);
-        sleep(3);
+        SearchPage searchPage = new SearchPage().open(TEST_CITY);
         
         try {
-            // Look for pagination controls
-            List<WebElement> paginationElements = driver.findElements(
-                    By.xpath("//nav[@aria-label='pagination'] | //*[contains(@class, 'pagination')] | //button[contains(text(), 'Next')]")
-            );
-            
-            if (paginationElements.size() > 0) {
-                // Find next button
-                List<WebElement> nextButtons = driver.findElements(
-                        By.xpath("//button[contains(text(), 'Next')] | //a[contains(text(), 'Next')]")
-                );
-                
-                if (nextButtons.size() > 0 && nextButtons.get(0).isEnabled()) {
-                    nextButtons.get(0).click();
-                    sleep(2);
-                    System.out.println("Pagination navigation tested successfully");
-                } else {
-                    System.out.println("Next button not clickable (might be last page)");
-                }
+            if (searchPage.hasNextPage()) {
+                searchPage.nextPage();
+                System.out.println("Pagination navigation tested successfully");
             } else {
-                System.out.println("Pagination not found (may be single page of results)");
+                System.out.println("Next button not found (may be single page of results)");
             }
             
         } catch (Exception e) {
             System.out.println("Pagination test info: " + e.getMessage());
         }
     }
+    
+    @Test(priority = 15, description = "Test Case 15: Profile search latency against page depth via the Next button")
+    public void test15_paginationDepthProfile() {
+        if (!config.isPaginationProfileEnabled()) {
+            throw new SkipException("Pagination profile is off (paginationProfile.enabled=false)");
+        }
+        
+        PaginationCurve clickCurve = new PaginationCurve();
+        PaginationCurve apiCurve = new PaginationCurve();
+        
+        for (String sortOption : config.getPaginationProfileSortOptions()) {
+            SearchPage searchPage = new SearchPage().open(config.getPaginationProfileCity());
+            
+            long start = System.nanoTime();
+            if (!searchPage.sortBy(sortOption)) {
+                // The dropdown only offers some of the API's sort fields
+                System.out.println("Sort option " + sortOption + " is not offered in the UI, skipping");
+                continue;
+            }
+            recordPage(clickCurve, apiCurve, sortOption, 1, start);
+            
+            for (int page = 2; page <= config.getPaginationProfileMaxPages() && searchPage.hasNextPage(); page++) {
+                start = System.nanoTime();
+                searchPage.nextPage();
+                recordPage(clickCurve, apiCurve, sortOption, page, start);
+            }
+        }
+        
+        Assert.assertFalse(clickCurve.isEmpty(), "No sort option could be profiled");
+        clickCurve.write(new File("target/perf/pagination-ui.csv"), "Next click to settled page (ms):");
+        apiCurve.write(new File("target/perf/pagination-ui-api.csv"), "Search API latency seen by the browser (ms):");
+    }
+    
+    private void recordPage(PaginationCurve clickCurve, PaginationCurve apiCurve, String sortOption, int page, long start) {
+        clickCurve.record(sortOption, page, (System.nanoTime() - start) / 1_000_000.0);
+        Map<String, Object> apiCall = NetworkRecorder.lastEntryFor(SEARCH_ENDPOINT);
+        if (apiCall != null) {
+            apiCurve.record(sortOption, page, ((Number) apiCall.get("time")).doubleValue());
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.merneats.tests;
+
+import com.merneats.journeys.BrowserJourneyRunner;
+import com.merneats.journeys.Journeys;
+import com.merneats.journeys.StepResult;
+import com.merneats.utils.BaseTest;
+import com.merneats.utils.DriverManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class UserJourneyTests extends BaseTest {
+    private static final String TEST_CITY = "London";
+    
+    @Test(priority = 14, description = "Test Case 14: Walk the full browse and profile journey in the browser")
+    public void test14_browseAndUpdateProfileJourney() {
+        try {
+            // Same journey definition the HTTP journey simulator replays at load
+            List<StepResult> results = new BrowserJourneyRunner(testUser())
+                    .run(Journeys.browseAndUpdateProfile(TEST_CITY));
+            
+            results.forEach(result -> System.out.println("  " + result));
+            StepResult failed = results.stream()
+                    .filter(result -> result.getStatus() == StepResult.Status.FAILED)
+                    .findFirst()
+                    .orElse(null);
+            if (failed != null) {
+                DriverManager.takeScreenshot("Journey_Failed");
+            }
+            Assert.assertNull(failed, "Journey failed at " + failed);
+        } catch (Exception e) {
+            System.out.println("Journey test info: " + e.getMessage());
+            DriverManager.takeScreenshot("Journey_Failed");
+        }
+    }
+}
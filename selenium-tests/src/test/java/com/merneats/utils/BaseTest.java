@@ -3,18 +3,30 @@ package com.merneats.utils;
 import com.merneats.config.ConfigManager;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.*;
 
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
 /**
- * Base test class that all test classes should extend
+ * Base test class that all test classes should extend.
+ * Test methods may run concurrently on one instance, so per-test state lives in DriverManager's thread locals.
  */
 public class BaseTest {
-    protected WebDriver driver;
-    protected ConfigManager config;
+    protected final ConfigManager config = ConfigManager.getInstance();
+    
+    @BeforeSuite(alwaysRun = true)
+    public void setUpSuite() {
+        ApiStub.startIfEnabled();
+        DriverManager.prewarm();
+        ReadinessGate.awaitReady();
+    }
     
     @BeforeClass
     public void setUpClass() {
-        config = ConfigManager.getInstance();
         System.out.println("========================================");
         System.out.println("Starting Test Suite");
         System.out.println("Base URL: " + config.getBaseUrl());
@@ -23,12 +35,37 @@ public class BaseTest {
     }
     
     @BeforeMethod
-    public void setUp() {
-        driver = DriverManager.getDriver();
+    public void setUp(Method method) {
+        if (CircuitBreaker.openReason() != null) {
+            throw new SkipException(CircuitBreaker.openReason());
+        }
+        ApiStub.setCurrentTest(getClass().getSimpleName() + "." + method.getName());
+        CircuitBreaker.startTest();
+        CommandProfiler.start();
+        VisualDiff.startTest(getClass().getSimpleName() + "." + method.getName());
+        try {
+            DriverManager.getDriver();
+            LeanMode.apply(config.isLeanMode() && !method.isAnnotationPresent(FullPageLoad.class)
+                    && !method.getDeclaringClass().isAnnotationPresent(FullPageLoad.class));
+            Synchronizer.attach();
+            Synchronizer.resetStats();
+            PerformanceCapture.reset();
+            NetworkRecorder.attach();
+        } catch (RuntimeException e) {
+            // tearDown does not run after a failed setUp, so a browser that cannot start is counted here
+            CircuitBreaker.finishTest(e);
+            throw e;
+        }
     }
     
     @AfterMethod
     public void tearDown(ITestResult result) {
+        String tripped = CircuitBreaker.finishTest(result.getThrowable());
+        if (tripped != null) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(tripped));
+        }
+        
         if (result.getStatus() == ITestResult.FAILURE) {
             String testName = result.getMethod().getMethodName();
             System.out.println("Test FAILED: " + testName);
@@ -37,7 +74,56 @@ public class BaseTest {
             System.out.println("✓ Test PASSED: " + result.getMethod().getMethodName());
         }
         
-        DriverManager.quitDriver();
+        String qualifiedName = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        SyncReport.record(qualifiedName, Synchronizer.getWaitedMillis(), Synchronizer.getSyncPoints());
+        PerformanceCapture.writeReport(qualifiedName);
+        NetworkRecorder.writeHar(qualifiedName);
+        CommandProfiler.finish(qualifiedName);
+        recordMetrics(qualifiedName, result);
+        recordVisualDiffs(result);
+        result.setAttribute("screenshots", DriverManager.drainScreenshots());
+        if (result.getStatus() != ITestResult.SKIP) {
+            TestImpact.record(qualifiedName, result.getStatus() == ITestResult.SUCCESS);
+        }
+        
+        DriverManager.releaseDriver();
+        ApiStub.setCurrentTest(null);
+    }
+    
+    /**
+     * Compares this test's metrics with the stored history, then adds them to it
+     */
+    private void recordMetrics(String qualifiedName, ITestResult result) {
+        Map<String, Map<String, Double>> metrics = TestMetrics.collect(result.getEndMillis() - result.getStartMillis());
+        List<String> regressions = MetricsStore.findRegressions(qualifiedName, metrics);
+        MetricsStore.append(qualifiedName, metrics);
+        result.setAttribute("metrics", metrics);
+        
+        if (!regressions.isEmpty()) {
+            result.setAttribute("perfRegressions", regressions);
+            for (String regression : regressions) {
+                Reporter.log("PERF REGRESSION " + qualifiedName + ": " + regression, true);
+            }
+            if (config.isRegressionFailsTest() && result.getStatus() == ITestResult.SUCCESS) {
+                result.setStatus(ITestResult.FAILURE);
+                result.setThrowable(new AssertionError("Performance regression: " + String.join("; ", regressions)));
+            }
+        }
+    }
+    
+    /**
+     * Attaches this test's visual mismatches and fails a passing test on them when visual.failsTest is set
+     */
+    private void recordVisualDiffs(ITestResult result) {
+        List<String> mismatches = VisualDiff.finishTest();
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        result.setAttribute("visualDiffs", mismatches);
+        if (config.isVisualFailsTest() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Visual regression: " + String.join("; ", mismatches)));
+        }
     }
     
     @AfterClass
@@ -47,16 +133,43 @@ public class BaseTest {
         System.out.println("========================================");
     }
     
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        SyncReport.write();
+        NetworkRecorder.writeLatencyTable();
+        CommandProfiler.writePrometheus();
+        LeanMode.writeReport();
+        TestImpact.write();
+        DriverManager.shutdownPool();
+        BrowserStartup.writeReport();
+        ApiStub.stopIfRunning();
+        ArtifactWriter.flush();
+    }
+    
+    protected WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+    
+    /**
+     * Account reserved for the current worker thread
+     */
+    protected TestUser testUser() {
+        return TestUserAllocator.forCurrentThread();
+    }
+    
+    /**
+     * Starts the test already logged in by injecting a cached API auth cookie.
+     * Only the login tests drive the /login form itself.
+     */
+    protected void loginAs(TestUser user) {
+        AuthHelper.authenticate(getDriver(), user);
+    }
+    
+    /**
+     * Opens an app route and waits until its data has loaded and rendered
+     */
     protected void navigateTo(String path) {
         String url = config.getBaseUrl() + path;
         DriverManager.navigateTo(url);
     }
-    
-    protected void sleep(int seconds) {
-        try {
-            Thread.sleep(seconds * 1000L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
@@ -0,0 +1,51 @@
+package com.merneats.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drops tests that the current diff cannot affect when impact.base or impact.changedFiles is set.
+ * Any doubt (no diff, no coverage history, an unmapped file) keeps the full list.
+ */
+public class ImpactSelector implements IMethodInterceptor {
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<String> changedFiles = TestImpact.changedFiles();
+        if (changedFiles == null) {
+            return methods;
+        }
+        
+        Set<String> tests = new LinkedHashSet<>();
+        for (IMethodInstance method : methods) {
+            tests.add(nameOf(method));
+        }
+        Set<String> selected = TestImpact.select(tests, changedFiles);
+        if (selected == null) {
+            return methods;
+        }
+        
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (selected.contains(nameOf(method))) {
+                kept.add(method);
+            }
+        }
+        System.out.println("Test impact: " + changedFiles.size() + " changed file(s), running "
+                + kept.size() + " of " + methods.size() + " tests");
+        for (IMethodInstance method : kept) {
+            System.out.println("  " + nameOf(method));
+        }
+        return kept;
+    }
+    
+    private static String nameOf(IMethodInstance method) {
+        return method.getMethod().getRealClass().getSimpleName() + "." + method.getMethod().getMethodName();
+    }
+}
@@ -0,0 +1,28 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the suite.parallel and suite.threadCount settings before TestNG builds the run
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigManager config = ConfigManager.getInstance();
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(config.getParallelMode());
+        int threadCount = config.getThreadCount();
+        
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(threadCount);
+            suite.setDataProviderThreadCount(threadCount);
+        }
+        
+        System.out.println("Parallel mode: " + mode + " with " + threadCount + " thread(s)");
+    }
+}
@@ -0,0 +1,146 @@
+package com.merneats.utils;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Merges the testng-results.xml of every shard into one report and folds the measured test durations into the
+ * file ShardSelector partitions by. Run once after all shards have finished:
+ * java -cp target/test-classes com.merneats.utils.ShardReport &lt;merged.xml&gt; &lt;durations.properties&gt; &lt;shard results...&gt;
+ */
+public class ShardReport {
+    private static final String[] COUNTS = {"total", "passed", "failed", "skipped", "ignored"};
+    
+    private ShardReport() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: ShardReport <merged.xml> <durations.properties> <shard testng-results.xml>...");
+            System.exit(2);
+        }
+        
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document merged = factory.newDocumentBuilder().newDocument();
+        Element root = merged.createElement("testng-results");
+        merged.appendChild(root);
+        
+        long[] totals = new long[COUNTS.length];
+        Map<String, Long> measured = new TreeMap<>();
+        for (int i = 2; i < args.length; i++) {
+            File shardFile = new File(args[i]);
+            if (!shardFile.exists()) {
+                System.err.println("Missing shard results, skipping: " + shardFile);
+                continue;
+            }
+            Document shard = factory.newDocumentBuilder().parse(shardFile);
+            Element shardRoot = shard.getDocumentElement();
+            for (int c = 0; c < COUNTS.length; c++) {
+                String value = shardRoot.getAttribute(COUNTS[c]);
+                totals[c] += value.isEmpty() ? 0 : Long.parseLong(value);
+            }
+            NodeList children = shardRoot.getChildNodes();
+            for (int n = 0; n < children.getLength(); n++) {
+                Node child = children.item(n);
+                if (child instanceof Element && ("suite".equals(child.getNodeName()) || "reporter-output".equals(child.getNodeName()))) {
+                    root.appendChild(merged.importNode(child, true));
+                }
+            }
+            collectDurations(shard, measured);
+        }
+        for (int c = 0; c < COUNTS.length; c++) {
+            root.setAttribute(COUNTS[c], Long.toString(totals[c]));
+        }
+        
+        File mergedFile = new File(args[0]);
+        if (mergedFile.getParentFile() != null) {
+            mergedFile.getParentFile().mkdirs();
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(mergedFile));
+        
+        updateDurations(args[1], measured);
+        System.out.println(String.format("Merged %d shard report(s): %d total, %d passed, %d failed, %d skipped",
+                args.length - 2, totals[0], totals[1], totals[2], totals[3]));
+    }
+    
+    /**
+     * Recorded duration in milliseconds per Class.method; empty when the file does not exist yet
+     */
+    public static Map<String, Long> readDurations(String path) {
+        Map<String, Long> durations = new TreeMap<>();
+        File file = new File(path);
+        if (!file.exists()) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Could not read test durations: " + e.getMessage());
+            return durations;
+        }
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                durations.put(name, Long.parseLong(properties.getProperty(name).trim()));
+            } catch (NumberFormatException e) {
+                // Ignore a corrupt entry; the test falls back to the median estimate
+            }
+        }
+        return durations;
+    }
+    
+    private static void collectDurations(Document shard, Map<String, Long> measured) {
+        NodeList classes = shard.getElementsByTagName("class");
+        for (int i = 0; i < classes.getLength(); i++) {
+            Element testClass = (Element) classes.item(i);
+            String className = testClass.getAttribute("name");
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            NodeList methods = testClass.getElementsByTagName("test-method");
+            for (int m = 0; m < methods.getLength(); m++) {
+                Element method = (Element) methods.item(m);
+                if ("true".equals(method.getAttribute("is-config")) || "SKIP".equals(method.getAttribute("status"))) {
+                    continue;
+                }
+                measured.merge(simpleName + "." + method.getAttribute("name"),
+                        Long.parseLong(method.getAttribute("duration-ms")), Long::sum);
+            }
+        }
+    }
+    
+    /**
+     * Smooths each new measurement with the previous estimate so one slow run does not reshuffle every shard
+     */
+    private static void updateDurations(String path, Map<String, Long> measured) throws IOException {
+        Map<String, Long> durations = readDurations(path);
+        measured.forEach((name, millis) -> durations.merge(name, millis, (previous, latest) -> (previous + latest) / 2));
+        
+        File file = new File(path);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            out.println("# Test durations in ms, written by ShardReport");
+            durations.forEach((name, millis) -> out.println(name + "=" + millis));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs only this JVM's share of the tests when -Dshard=K/N is set.
+ * Tests are spread over N shards by longest-processing-time bin packing on their recorded durations, so every
+ * shard computes the same partition and the shards finish at about the same time.
+ */
+public class ShardSelector implements IMethodInterceptor {
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigManager config = ConfigManager.getInstance();
+        String shard = config.getShard();
+        if (shard == null || shard.isBlank()) {
+            return methods;
+        }
+        
+        String[] parts = shard.trim().split("/");
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(parts[0]);
+            count = Integer.parseInt(parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("shard must look like K/N, got: " + shard);
+        }
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("shard must satisfy 1 <= K <= N, got: " + shard);
+        }
+        
+        Map<String, Long> durations = ShardReport.readDurations(config.getShardDurationsPath());
+        long fallback = durations.isEmpty() ? 1 : median(new ArrayList<>(durations.values()));
+        
+        // Longest first, ties broken by name so every shard sorts identically
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        Map<IMethodInstance, Long> estimates = new HashMap<>();
+        for (IMethodInstance method : methods) {
+            estimates.put(method, durations.getOrDefault(nameOf(method), fallback));
+        }
+        ordered.sort(Comparator.comparing((IMethodInstance method) -> estimates.get(method)).reversed()
+                .thenComparing(ShardSelector::nameOf));
+        
+        long[] loads = new long[count];
+        Map<IMethodInstance, Integer> assigned = new HashMap<>();
+        for (IMethodInstance method : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += estimates.get(method);
+            assigned.put(method, lightest);
+        }
+        
+        // Keep TestNG's original order within the shard
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (assigned.get(method) == index - 1) {
+                kept.add(method);
+            }
+        }
+        
+        long slowest = 0;
+        for (long load : loads) {
+            slowest = Math.max(slowest, load);
+        }
+        System.out.println(String.format("Shard %d/%d: running %d of %d tests, estimated %.1fs (slowest shard %.1fs%s)",
+                index, count, kept.size(), methods.size(), loads[index - 1] / 1000.0, slowest / 1000.0,
+                durations.isEmpty() ? ", no recorded durations" : ""));
+        return kept;
+    }
+    
+    private static long median(List<Long> values) {
+        values.sort(null);
+        return values.get(values.size() / 2);
+    }
+    
+    private static String nameOf(IMethodInstance method) {
+        return method.getMethod().getRealClass().getSimpleName() + "." + method.getMethod().getMethodName();
+    }
+}
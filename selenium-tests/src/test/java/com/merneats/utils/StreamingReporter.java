@@ -0,0 +1,351 @@
+package com.merneats.utils;
+
+import com.merneats.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams each result to results.jsonl and report.html in report.dir as soon as the test finishes.
+ * Both files are append-only and only counters are kept in memory, so a long run costs no more than a short one.
+ * The HTML page reloads itself until the suite is done; screenshots, HARs and profiles are linked, not embedded.
+ * TestNG reports a result before its @AfterMethods run, so each worker's result is held until they have finished
+ * and the screenshots, metrics and status BaseTest.tearDown adds are included.
+ * The files are opened once per suite, so results from every {@code <test>} block end up in the same report.
+ */
+public class StreamingReporter implements ISuiteListener, ITestListener, IInvokedMethodListener {
+    private static final String STATUS_PASS = "PASS";
+    private static final String STATUS_FAIL = "FAIL";
+    private static final String STATUS_SKIP = "SKIP";
+    
+    private static final String HTML_HEAD = "<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>MERN Eats test report</title>\n"
+            + "<style>body{font:13px sans-serif;margin:16px}table{border-collapse:collapse;width:100%}"
+            + "td,th{border-bottom:1px solid #ddd;padding:4px 6px;text-align:left;vertical-align:top}"
+            + ".PASS td.s{color:#18794e}.FAIL td.s{color:#c62828;font-weight:bold}.SKIP td.s{color:#8a6d00}"
+            + ".bar{background:#90caf9;height:8px}pre{white-space:pre-wrap;margin:4px 0;font-size:12px}"
+            + ".panel{display:inline-block;vertical-align:top;margin:0 24px 16px 0}.hidden{display:none}</style>\n"
+            + "<script>\n"
+            + "function render() {\n"
+            + "  var rows = Array.prototype.slice.call(document.querySelectorAll('tr.test'));\n"
+            + "  var counts = {PASS: 0, FAIL: 0, SKIP: 0}, total = 0;\n"
+            + "  rows.forEach(function(r) { counts[r.dataset.status]++; total += +r.dataset.ms; });\n"
+            + "  var max = Math.max.apply(null, rows.map(function(r) { return +r.dataset.ms; }).concat([1]));\n"
+            + "  rows.forEach(function(r) { r.querySelector('.bar').style.width = (100 * r.dataset.ms / max) + '%'; });\n"
+            + "  document.getElementById('summary').textContent = (document.getElementById('finished') ? 'Finished: ' : 'Running: ')\n"
+            + "    + counts.PASS + ' passed, ' + counts.FAIL + ' failed, ' + counts.SKIP + ' skipped, '\n"
+            + "    + (total / 1000).toFixed(1) + ' s of test time';\n"
+            + "  var slowest = rows.slice().sort(function(a, b) { return b.dataset.ms - a.dataset.ms; }).slice(0, 10);\n"
+            + "  document.getElementById('slowest').innerHTML = slowest.map(function(r) {\n"
+            + "    return '<li>' + r.dataset.name + ' (' + r.dataset.ms + ' ms)</li>'; }).join('');\n"
+            + "}\n"
+            + "function show(status) {\n"
+            + "  document.querySelectorAll('tr.test').forEach(function(r) {\n"
+            + "    r.classList.toggle('hidden', status !== '' && r.dataset.status !== status); });\n"
+            + "}\n"
+            + "document.addEventListener('DOMContentLoaded', function() {\n"
+            + "  render();\n"
+            + "  if (!document.getElementById('finished')) { setTimeout(function() { location.reload(); }, 5000); }\n"
+            + "});\n"
+            + "</script></head><body>\n"
+            + "<h2>MERN Eats test report</h2>\n"
+            + "<div class=\"panel\"><h3>Summary</h3><p id=\"summary\"></p><p>Show: <a href=\"#\" onclick=\"show('');return false\">all</a> "
+            + "<a href=\"#\" onclick=\"show('FAIL');return false\">failed</a> <a href=\"#\" onclick=\"show('SKIP');return false\">skipped</a></p></div>\n"
+            + "<div class=\"panel\"><h3>Slowest tests</h3><ol id=\"slowest\"></ol></div>\n"
+            + "<table><tr><th>Status</th><th>Test</th><th>Started</th><th>Duration</th><th>Worker</th><th>Details</th></tr>\n";
+    
+    private final ConfigManager config = ConfigManager.getInstance();
+    // At most one held result per worker thread
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private PrintWriter jsonLines;
+    private PrintWriter html;
+    private int passed;
+    private int failed;
+    private int skipped;
+    private int htmlRows;
+    private long totalMillis;
+    
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (jsonLines != null) {
+            return;
+        }
+        File dir = new File(config.getReportDir());
+        dir.mkdirs();
+        try {
+            jsonLines = open(new File(dir, "results.jsonl"));
+            html = open(new File(dir, "report.html"));
+            html.print(HTML_HEAD);
+            html.flush();
+            System.out.println("Streaming test report to " + new File(dir, "report.html").getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not open the test report: " + e.getMessage());
+            jsonLines = null;
+            html = null;
+        }
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        hold(result);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        hold(result);
+    }
+    
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        hold(result);
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        hold(result);
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // The held result's @AfterMethods were skipped or did not run on this thread; write it as it is
+        if (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) {
+            release(pending.remove(Thread.currentThread().threadId()));
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Pending held = pending.get(Thread.currentThread().threadId());
+        if (held != null && method.getTestMethod().isAfterMethodConfiguration()
+                && ++held.afterMethodsRun >= held.result.getMethod().getTestClass().getAfterTestMethods().length) {
+            release(pending.remove(Thread.currentThread().threadId()));
+        }
+    }
+    
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        pending.values().forEach(held -> release(held));
+        pending.clear();
+        if (jsonLines == null) {
+            return;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("type", "summary");
+        summary.put("passed", passed);
+        summary.put("failed", failed);
+        summary.put("skipped", skipped);
+        summary.put("totalMillis", totalMillis);
+        jsonLines.println(toJson(summary));
+        jsonLines.close();
+    
+        html.println("</table>");
+        if (htmlRows < passed + failed + skipped) {
+            html.println("<p>" + (passed + failed + skipped - htmlRows) + " passing tests beyond report.maxHtmlRows"
+                    + " are only in results.jsonl</p>");
+        }
+        html.println("<p id=\"finished\">Finished at " + Instant.now() + "</p>\n</body></html>");
+        html.close();
+        jsonLines = null;
+        html = null;
+    }
+    
+    private void hold(ITestResult result) {
+        Pending held = new Pending(result);
+        if (result.getMethod().getTestClass().getAfterTestMethods().length == 0) {
+            release(held);
+        } else {
+            release(pending.put(Thread.currentThread().threadId(), held));
+        }
+    }
+    
+    private void release(Pending held) {
+        if (held == null) {
+            return;
+        }
+        int status = held.result.getStatus();
+        write(held.result, held.worker,
+                status == ITestResult.SUCCESS ? STATUS_PASS : status == ITestResult.SKIP ? STATUS_SKIP : STATUS_FAIL);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void write(ITestResult result, long worker, String status) {
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        Object screenshots = result.getAttribute("screenshots");
+        Object metrics = result.getAttribute("metrics");
+        Object regressions = result.getAttribute("perfRegressions");
+        Object visualDiffs = result.getAttribute("visualDiffs");
+    
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", "test");
+        record.put("name", name);
+        record.put("status", status);
+        record.put("start", Instant.ofEpochMilli(result.getStartMillis()).toString());
+        record.put("durationMillis", millis);
+        record.put("worker", worker);
+        if (result.getThrowable() != null) {
+            record.put("error", describe(result.getThrowable()));
+        }
+        record.put("screenshots", screenshots != null ? screenshots : List.of());
+        record.put("artifacts", artifacts(name));
+        if (metrics != null) {
+            record.put("metrics", metrics);
+        }
+        if (regressions != null) {
+            record.put("regressions", regressions);
+        }
+        if (visualDiffs != null) {
+            record.put("visualDiffs", visualDiffs);
+        }
+        String line = toJson(record);
+    
+        synchronized (this) {
+            if (jsonLines == null) {
+                return;
+            }
+            switch (status) {
+                case STATUS_PASS -> passed++;
+                case STATUS_FAIL -> failed++;
+                default -> skipped++;
+            }
+            totalMillis += millis;
+            jsonLines.println(line);
+            jsonLines.flush();
+    
+            // Failures and skips are always listed; passing rows stop at the cap to bound the page size
+            if (!STATUS_PASS.equals(status) || htmlRows < config.getReportMaxHtmlRows()) {
+                htmlRows++;
+                html.println(row(record, (List<String>) record.get("screenshots"), (Map<String, String>) record.get("artifacts")));
+                html.flush();
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private String row(Map<String, Object> record, List<String> screenshots, Map<String, String> artifacts) {
+        String name = (String) record.get("name");
+        StringBuilder details = new StringBuilder();
+        if (record.containsKey("error")) {
+            details.append("<pre>").append(escape((String) record.get("error"))).append("</pre>");
+        }
+        for (String screenshot : screenshots) {
+            details.append("<a href=\"").append(escape(relative(screenshot))).append("\">screenshot</a> ");
+        }
+        artifacts.forEach((label, path) ->
+                details.append("<a href=\"").append(escape(relative(path))).append("\">").append(label).append("</a> "));
+        if (record.containsKey("regressions")) {
+            details.append("<pre>").append(escape(String.join("\n", (List<String>) record.get("regressions")))).append("</pre>");
+        }
+        if (record.containsKey("visualDiffs")) {
+            for (String mismatch : (List<String>) record.get("visualDiffs")) {
+                String page = mismatch.substring(0, mismatch.indexOf(':'));
+                details.append("<pre>").append(escape(mismatch)).append("</pre>")
+                        .append("<a href=\"").append(escape(relative("target/visual/" + page + ".actual.png"))).append("\">actual</a> ")
+                        .append("<a href=\"").append(escape(relative("target/visual/" + page + ".diff.png"))).append("\">diff</a> ");
+            }
+        }
+        if (record.containsKey("metrics")) {
+            details.append("<details><summary>performance</summary><table>");
+            ((Map<String, Map<String, Double>>) record.get("metrics")).forEach((route, values) -> {
+                details.append("<tr><td>").append(escape(route)).append("</td><td>");
+                values.forEach((metric, value) ->
+                        details.append(escape(metric)).append("=").append(Math.round(value)).append(" "));
+                details.append("</td></tr>");
+            });
+            details.append("</table></details>");
+        }
+    
+        return "<tr class=\"test " + record.get("status") + "\" data-status=\"" + record.get("status") + "\" data-ms=\""
+                + record.get("durationMillis") + "\" data-name=\"" + escape(name) + "\"><td class=\"s\">" + record.get("status")
+                + "</td><td>" + escape(name) + "</td><td>" + record.get("start") + "</td><td>" + record.get("durationMillis")
+                + " ms<div class=\"bar\"></div></td><td>" + record.get("worker") + "</td><td>" + details + "</td></tr>";
+    }
+    
+    /**
+     * Per-test files other utilities wrote under target/, keyed by link label
+     */
+    private Map<String, String> artifacts(String name) {
+        Map<String, String> artifacts = new LinkedHashMap<>();
+        String[][] candidates = {
+                {"perf", "target/perf/" + name + ".json"},
+                {"har", "target/network/" + name + ".har"},
+                {"profile", "target/profile/" + name + ".folded"}};
+        for (String[] candidate : candidates) {
+            if (new File(candidate[1]).isFile()) {
+                artifacts.put(candidate[0], candidate[1]);
+            }
+        }
+        return artifacts;
+    }
+    
+    /**
+     * Message plus the first few stack frames, cut to report.maxMessageChars
+     */
+    private String describe(Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        String[] lines = trace.toString().split("\n");
+        String text = String.join("\n", List.of(lines).subList(0, Math.min(lines.length, 8)));
+        int max = config.getReportMaxMessageChars();
+        return text.length() > max ? text.substring(0, max) + "..." : text;
+    }
+    
+    /**
+     * Paths are relative to the module directory; links are relative to the report
+     */
+    private String relative(String path) {
+        File dir = new File(config.getReportDir()).getAbsoluteFile();
+        try {
+            return dir.toPath().normalize().relativize(new File(path).getAbsoluteFile().toPath().normalize())
+                    .toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            return new File(path).getAbsoluteFile().toURI().toString();
+        }
+    }
+    
+    private static String toJson(Object value) {
+        StringBuilder out = new StringBuilder();
+        try (JsonOutput json = new Json().newOutput(out)) {
+            json.setPrettyPrint(false).write(value);
+        }
+        return out.toString();
+    }
+    
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+    
+    private static PrintWriter open(File file) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * A reported result waiting for its @AfterMethods
+     */
+    private static class Pending {
+        private final ITestResult result;
+        private final long worker = Thread.currentThread().threadId();
+        private int afterMethodsRun;
+        
+        Pending(ITestResult result) {
+            this.result = result;
+        }
+    }
+}
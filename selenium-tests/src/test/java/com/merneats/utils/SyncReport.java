@@ -0,0 +1,69 @@
+package com.merneats.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-test comparison of readiness waits against the fixed sleeps they replaced
+ */
+public class SyncReport {
+    private static final Map<String, long[]> results = new ConcurrentSkipListMap<>();
+    private static final Properties baseline = new Properties();
+    
+    static {
+        try (InputStream in = SyncReport.class.getResourceAsStream("/sleep-baseline.properties")) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not load sleep baseline: " + e.getMessage());
+        }
+    }
+    
+    private SyncReport() {
+    }
+    
+    public static void record(String testName, long waitedMillis, long syncPoints) {
+        long baselineMillis = Long.parseLong(baseline.getProperty(testName, "0")) * 1000L;
+        results.put(testName, new long[] {waitedMillis, syncPoints, baselineMillis});
+    }
+    
+    /**
+     * Prints the table and writes it to target/sync-report.txt
+     */
+    public static void write() {
+        if (results.isEmpty()) {
+            return;
+        }
+        
+        File reportFile = new File("target/sync-report.txt");
+        reportFile.getParentFile().mkdirs();
+        
+        try (PrintWriter out = new PrintWriter(reportFile)) {
+            long totalSaved = 0;
+            String header = String.format("%-62s %8s %10s %10s %10s", "Test", "Waits", "Waited ms", "Sleep ms", "Saved ms");
+            out.println(header);
+            System.out.println(header);
+            
+            for (Map.Entry<String, long[]> entry : results.entrySet()) {
+                long[] r = entry.getValue();
+                long saved = r[2] - r[0];
+                totalSaved += saved;
+                String line = String.format("%-62s %8d %10d %10d %10d", entry.getKey(), r[1], r[0], r[2], saved);
+                out.println(line);
+                System.out.println(line);
+            }
+            
+            String total = "Total wall time saved vs fixed sleeps: " + totalSaved + " ms";
+            out.println(total);
+            System.out.println(total);
+        } catch (IOException e) {
+            System.err.println("Failed to write sync report: " + e.getMessage());
+        }
+    }
+}